@@ -0,0 +1,25 @@
+package timeo;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Takes the usual JMH command line and
+ * always adds the gc profiler, so every run reports the allocation rate
+ * (gc.alloc.rate.norm is bytes allocated per operation) next to the time.
+ */
+public class Benchmarks {
+
+	public static void main ( String[] args ) throws Exception {
+
+		CommandLineOptions command = new CommandLineOptions(args);
+		Options options = new OptionsBuilder()
+		    .parent(command)
+		    .addProfiler(GCProfiler.class)
+		    .build();
+		new Runner(options).run();
+
+	}
+}
@@ -0,0 +1,153 @@
+package timeo;
+import graphcomponents.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Micro-operations of the graph components on a random sparse graph: walking
+ * every vertex's incident edges to the opposite vertex, and adjacency tests
+ * between random pairs of vertices. The directed graphs count an edge as
+ * incident on both of its ends, as the Graph interface does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphBenchmark {
+
+	@Param({ "list", "matrix", "directed-list", "directed-matrix", "csr" })
+	String graph;
+
+	@Param("2000")
+	int vertices;
+
+	@Param("8")
+	int degree;
+
+	private static final int PAIRS = 4096;
+
+	private Graph g;
+	private Vertex[] all;
+	private Vertex[] pairs;
+
+	@Setup
+	public void setup () {
+
+		Random random = new Random(327);
+		int[] from = new int[vertices * degree / 2];
+		int[] to = new int[from.length];
+		Set<Long> seen = new HashSet<>();
+		for ( int i = 0 ; i < from.length ; ) {
+
+			int u = random.nextInt(vertices);
+			int v = random.nextInt(vertices);
+			if ( u == v || !seen.add((long) Math.min(u,v) * vertices + Math.max(u,v)) ) continue;
+			from[i] = u;
+			to[i++] = v;
+
+		}
+
+		g = build(from,to);
+		all = new Vertex[vertices];
+		int n = 0;
+		for ( Vertex v : g.vertices() ) {
+
+			all[n++] = v;
+
+		}
+
+		pairs = new Vertex[2 * PAIRS];
+		for ( int i = 0 ; i < pairs.length ; i++ ) {
+
+			pairs[i] = all[random.nextInt(vertices)];
+
+		}
+	}
+
+	// Builds the graph type under test with the given edges
+	private Graph build ( int[] from, int[] to ) {
+
+		if ( graph.equals("csr") ) {
+
+			CsrGraph.Builder builder = new CsrGraph.Builder();
+			for ( int i = 0 ; i < vertices ; i++ ) {
+
+				builder.addVertex(i);
+
+			}
+			for ( int i = 0 ; i < from.length ; i++ ) {
+
+				builder.addEdge(from[i],to[i],i);
+
+			}
+			return builder.build();
+
+		}
+
+		Graph built;
+		switch ( graph ) {
+
+			case "list": built = new AdjacencyListGraph(); break;
+			case "matrix": built = new AdjacencyMatrixGraph(); break;
+			case "directed-list": built = new AdjacencyListDirectedGraph(); break;
+			case "directed-matrix": built = new AdjacencyMatrixDirectedGraph(); break;
+			default: throw new IllegalArgumentException("Unknown graph " + graph);
+
+		}
+
+		Vertex[] vs = new Vertex[vertices];
+		for ( int i = 0 ; i < vertices ; i++ ) {
+
+			vs[i] = built.insertVertex(i);
+
+		}
+		for ( int i = 0 ; i < from.length ; i++ ) {
+
+			built.insertEdge(vs[from[i]],vs[to[i]],i);
+
+		}
+		return built;
+	}
+
+	@Benchmark
+	public void incidentEdgesOpposite ( Blackhole bh ) {
+
+		for ( Vertex v : all ) {
+
+			for ( Edge e : g.incidentEdges(v) ) {
+
+				bh.consume(g.opposite(v,e));
+
+			}
+		}
+	}
+
+	@Benchmark
+	public int areAdjacent () {
+
+		int adjacent = 0;
+		for ( int i = 0 ; i < pairs.length ; i += 2 ) {
+
+			if ( g.areAdjacent(pairs[i],pairs[i + 1]) ) adjacent++;
+
+		}
+
+		return adjacent;
+	}
+
+	@Benchmark
+	public void vertices ( Blackhole bh ) {
+
+		for ( Vertex v : g.vertices() ) {
+
+			bh.consume(v);
+
+		}
+	}
+}
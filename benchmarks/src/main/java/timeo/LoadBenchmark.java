@@ -0,0 +1,101 @@
+package timeo;
+import graphcomponents.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Reading a map and course: the text files into each graph type (parsing
+ * plus the shortest times between the course's controls), and the same
+ * problem from the binary format with and without stored shortest times. Paths are relative to the
+ * repository root, where the benchmarks are run from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+
+	@Param("data/westpoint14-timeo.map")
+	String mapFile;
+
+	@Param("data/westpoint14-timeo.course")
+	String courseFile;
+
+	@Param({ "list", "matrix", "csr" })
+	String graph;
+
+	private static final double PACE = 0.012;
+
+	// Binary files without and with the shortest times at PACE
+	private File binary;
+	private File binaryWithPaths;
+
+	@Setup
+	public void setup () throws IOException {
+
+		binary = convert(0.0);
+		binaryWithPaths = convert(PACE);
+
+	}
+
+	@TearDown
+	public void tearDown () {
+
+		binary.delete();
+		binaryWithPaths.delete();
+
+	}
+
+	// Writes the map and course to a temporary binary file
+	private File convert ( double pace ) throws IOException {
+
+		MapBuilder map = new MapBuilder("list");
+		Map<String,Vertex> codeToVertex = new HashMap<>();
+		List<TimeO.Control> controls = new ArrayList<>();
+		TimeO.readMapFile(mapFile,map,1.0,0);
+		TimeO.TimeLimit limit = TimeO.readCourseFile(courseFile,controls,map);
+		WeightedGraph built = map.build(codeToVertex);
+
+		File file = File.createTempFile("timeo",".bin");
+		BinaryFormat.write(file.getPath(),built,codeToVertex,controls,limit,pace);
+		return file;
+
+	}
+
+	// Compiles the view of a problem, which searches from each source the
+	// shortest times were not stored for
+	private static SolverView compile ( TimeO.Problem problem ) {
+
+		return SolverView.compile(problem.paths,problem.codeToVertex,problem.controls,0);
+
+	}
+
+	@Benchmark
+	public SolverView readText () throws IOException {
+
+		return compile(TimeO.readTextFiles(mapFile,courseFile,PACE,0,graph));
+
+	}
+
+	@Benchmark
+	public SolverView readBinary () throws IOException {
+
+		return compile(BinaryFormat.read(binary.getPath(),PACE,0));
+
+	}
+
+	@Benchmark
+	public SolverView readBinaryWithPaths () throws IOException {
+
+		return compile(BinaryFormat.read(binaryWithPaths.getPath(),PACE,0));
+
+	}
+}
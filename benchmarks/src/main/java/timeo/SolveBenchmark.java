@@ -0,0 +1,113 @@
+package timeo;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end solves of a course that is already loaded: the West Point
+ * course at a few paces and a synthetic course of random controls on a
+ * complete map. The engine is either the branch-and-bound search alone or
+ * the default choice (label DP for small courses). The search and its
+ * transposition table are built once and reused, as each solve starts by
+ * clearing the table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolveBenchmark {
+
+	@Param({ "westpoint", "synthetic" })
+	String course;
+
+	@Param({ "0.012", "0.008" })
+	double pace;
+
+	@Param({ "backtrack", "default" })
+	String engine;
+
+	@Param("data/westpoint14-timeo.map")
+	String mapFile;
+
+	@Param("data/westpoint14-timeo.course")
+	String courseFile;
+
+	// Controls on the synthetic course
+	private static final int SYNTHETIC_CONTROLS = 24;
+
+	private SolverOptions options;
+	private BranchAndBound search;
+
+	@Setup
+	public void setup () throws IOException {
+
+		options = new SolverOptions();
+		if ( engine.equals("backtrack") ) options.dpThreshold = 0;
+
+		TimeO.Problem problem = course.equals("westpoint")
+		    ? TimeO.readTextFiles(mapFile,courseFile,pace,0,"list")
+		    : synthetic(pace);
+		SolverView view = SolverView.compile(problem.paths,problem.codeToVertex,
+		                                     problem.controls,0);
+		Course compiled = new Course(view,problem.controls,problem.limit.minutes,
+		                             problem.limit.penaltyPerMinute);
+		search = TimeO.newSearch(compiled,options);
+
+	}
+
+	// A complete map of random distances between random points, with random
+	// points and time windows on each control and a 30 minute limit
+	private static TimeO.Problem synthetic ( double pace ) {
+
+		Random random = new Random(327);
+		int n = SYNTHETIC_CONTROLS + 1;
+		double[] x = new double[n];
+		double[] y = new double[n];
+		MapBuilder map = new MapBuilder("list");
+		for ( int i = 0 ; i < n ; i++ ) {
+
+			map.addVertex((i == 0) ? "start" : "c" + i);
+			x[i] = random.nextDouble() * 1500;
+			y[i] = random.nextDouble() * 1500;
+
+		}
+		for ( int u = 0 ; u < n ; u++ ) {
+
+			for ( int v = 0 ; v < n ; v++ ) {
+
+				double d = Math.hypot(x[u] - x[v],y[u] - y[v]) * (1 + random.nextDouble() / 4);
+				if ( u != v ) map.addLeg(u,v,TimeO.travelTime(d,pace,0));
+
+			}
+		}
+
+		TimeO.Problem problem = new TimeO.Problem();
+		problem.codeToVertex = new HashMap<>();
+		problem.paths = ShortestPaths.compute(map.build(problem.codeToVertex));
+		problem.controls = new ArrayList<>();
+		for ( int i = 1 ; i < n ; i++ ) {
+
+			double open = random.nextInt(10);
+			problem.controls.add(new TimeO.Control("c" + i,1 + random.nextInt(3),open,
+			                                       open + 10 + random.nextInt(20)));
+
+		}
+		problem.limit = new TimeO.TimeLimit();
+		problem.limit.minutes = 30;
+		problem.limit.penaltyPerMinute = 1;
+		return problem;
+	}
+
+	@Benchmark
+	public TimeO.Solution solve () {
+
+		return TimeO.findBestPath(search,options,new TimeO.Solution());
+
+	}
+}
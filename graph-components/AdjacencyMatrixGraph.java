@@ -1,23 +0,0 @@
-package graph-components;
-
-/**
- * Adjacency matrix implementation of Graph.
- */
-
-public class AdjacencyMatrixGraph extends AbstractGraph implements Graph {
-
-	protected class AdjacencyMatrixEdge extends AbstractEdge implements Edge {
-
-	}
-
-	protected class AdjacencyMatrixVertex extends AbstractVertex
-	    implements Vertex {
-
-	}
-
-	public AdjacencyMatrixGraph () {
-		// TODO implement!
-		throw new UnsupportedOperationException();
-	}
-
-}
@@ -0,0 +1,365 @@
+package graphcomponents;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * This class provides a skeletal implementation of Graph to reduce the effort
+ * needed for a concrete implementation. A subclass must provide vertices(),
+ * edges(), incidentEdges(), endVertices() and the insert and remove methods;
+ * the rest are derived from them here in linear time, and a subclass with
+ * better structures overrides them. IndexedList gives a subclass constant
+ * time removal and read-only live views to return instead of copies.
+ */
+public abstract class AbstractGraph implements Graph {
+
+	/**
+	 * This class provides a skeletal implementation of Edge to reduce the effort
+	 * needed for a concrete implementation.
+	 */
+	protected class AbstractEdge implements Edge {
+
+		private final Object object;
+
+		// Constructs an edge with an associated object, which may be null
+		protected AbstractEdge ( Object o ) {
+
+			this.object = o;
+
+		}
+
+		@Override
+		public Object getObject () {
+
+			return object;
+
+		}
+	}
+
+	/**
+	 * This class provides a skeletal implementation of Vertex to reduce the
+	 * effort needed for a concrete implementation.
+	 */
+	protected class AbstractVertex implements Vertex {
+
+		private final Object object;
+
+		// Constructs a vertex with an associated object
+		protected AbstractVertex ( Object o ) {
+
+			if ( o == null )
+			  throw new IllegalArgumentException("Vertex object is null");
+
+			this.object = o;
+
+		}
+
+		@Override
+		public Object getObject () {
+
+			return object;
+
+		}
+	}
+
+	
+	public Vertex aVertex () {
+
+		for ( Vertex v : vertices() ) {
+
+			return v;
+
+		}
+
+		return null;
+	}
+
+	public int degree ( Vertex v ) {
+
+		int degree = 0;
+		for ( Edge e : incidentEdges(v) ) {
+
+			degree++;
+
+		}
+
+		return degree;
+	}
+
+	public abstract Iterable<Vertex> vertices ();
+
+	public Vertex opposite ( Vertex v, Edge e ) {
+
+		Vertex[] ends = endVertices(e);
+		if ( ends[0] == v ) return ends[1];
+		else if ( ends[1] == v ) return ends[0];
+		else
+		  throw new IllegalArgumentException("Vertex is not an endpoint of this edge");
+
+	}
+
+	public abstract Vertex[] endVertices ( Edge e );
+
+	public abstract Iterable<Edge> edges ();
+
+	public int numEdges () {
+
+		int count = 0;
+		for ( Edge e : edges() ) {
+
+			count++;
+
+		}
+
+		return count;
+	}
+
+	public int numVertices () {
+
+		int count = 0;
+		for ( Vertex v : vertices() ) {
+
+			count++;
+
+		}
+
+		return count;
+	}
+
+	public abstract Edge insertEdge ( Vertex v, Vertex w, Object obj );
+
+	public abstract Vertex insertVertex ( Object obj );
+
+	public abstract Iterable<Edge> incidentEdges ( Vertex v );
+
+	public Iterable<Vertex> adjacentVertices ( Vertex v ) {
+
+		List<Vertex> adjVs = new ArrayList<>();
+		for ( Edge e : incidentEdges(v) ) {
+
+			adjVs.add(opposite(v,e));
+
+		}
+
+		return adjVs;
+	}
+
+	public boolean areAdjacent ( Vertex v, Vertex w ) {
+
+		for ( Edge e : incidentEdges(v) ) {
+
+			if ( opposite(v,e) == w ) return true;
+
+		}
+
+		return false;
+	}
+
+	public abstract void removeEdge ( Edge e );
+
+	public abstract void removeVertex ( Vertex v );
+
+	// Number of insertions and removals made through IndexedLists, so their
+	// views can detect a graph changed while they are being walked
+	private int modCount;
+
+	/**
+	 * An array-backed list of vertices or edges for a concrete implementation.
+	 * Removing an element moves the last one into its index, so any element can
+	 * be removed in constant time if it knows its index, and the caller updates
+	 * the index of the element moved. The list is itself a read-only live view
+	 * of its elements; its iterators throw ConcurrentModificationException if
+	 * the graph changes while they are in use.
+	 */
+	protected class IndexedList<T> implements Iterable<T> {
+
+		private Object[] items = new Object[4];
+		private int size;
+
+		// Returns the number of elements
+		public int size () {
+
+			return size;
+
+		}
+
+		// Returns the element at an index
+		@SuppressWarnings("unchecked")
+		public T get ( int i ) {
+
+			return (T) items[i];
+
+		}
+
+		// Adds an element at the end and returns its index
+		public int add ( T item ) {
+
+			if ( size == items.length ) items = Arrays.copyOf(items,size * 2);
+			items[size] = item;
+			modCount++;
+			return size++;
+
+		}
+
+		// Removes the element at an index and returns the element moved into
+		// that index, or null if it was the last one
+		public T remove ( int i ) {
+
+			T last = get(--size);
+			items[size] = null;
+			modCount++;
+			if ( i == size ) return null;
+
+			items[i] = last;
+			return last;
+
+		}
+
+		@Override
+		public Iterator<T> iterator () {
+
+			return new Iterator<T>() {
+
+				private int i = 0;
+				private final int expected = modCount;
+
+				@Override
+				public boolean hasNext () {
+
+					return i < size;
+
+				}
+
+				@Override
+				public T next () {
+
+					if ( modCount != expected ) throw new ConcurrentModificationException();
+					if ( i >= size ) throw new NoSuchElementException();
+					return get(i++);
+
+				}
+			};
+		}
+
+		// Returns a live view of f applied to each element
+		public <S> Iterable<S> map ( Function<? super T,? extends S> f ) {
+
+			return () -> new Iterator<S>() {
+
+				private final Iterator<T> it = iterator();
+
+				@Override
+				public boolean hasNext () {
+
+					return it.hasNext();
+
+				}
+
+				@Override
+				public S next () {
+
+					return f.apply(it.next());
+
+				}
+			};
+		}
+	}
+
+	// Returns the weight of an edge inserted with an object: its value if it
+	// is a Number, otherwise NaN
+	protected static double weightOf ( Object o ) {
+
+		return (o instanceof Number) ? ((Number) o).doubleValue() : Double.NaN;
+
+	}
+
+	// Returns a list of some vertex or edge type as an iterable of a supertype;
+	// safe since its views are read-only
+	@SuppressWarnings("unchecked")
+	protected static <S> Iterable<S> view ( IndexedList<? extends S> list ) {
+
+		return (Iterable<S>) list;
+
+	}
+
+	// Returns a read-only live view of the elements f(0) .. f(n - 1) that are
+	// not null, with n read as the view is walked, such as the edges in a row
+	// of an adjacency matrix; it throws ConcurrentModificationException like
+	// the views of an IndexedList
+	protected <T> Iterable<T> nonNull ( IntFunction<? extends T> f, IntSupplier n ) {
+
+		return () -> new Iterator<T>() {
+
+			private int i = -1;
+			private T next = advance();
+			private final int expected = modCount;
+
+			// Returns the next element that is not null, or null if none is left
+			private T advance () {
+
+				while ( ++i < n.getAsInt() ) {
+
+					T item = f.apply(i);
+					if ( item != null ) return item;
+
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext () {
+
+				return next != null;
+
+			}
+
+			@Override
+			public T next () {
+
+				if ( modCount != expected ) throw new ConcurrentModificationException();
+				if ( next == null ) throw new NoSuchElementException();
+				T item = next;
+				next = advance();
+				return item;
+
+			}
+		};
+	}
+
+	// Returns an iterable over one iterable and then another
+	protected static <T> Iterable<T> concat ( Iterable<T> first, Iterable<T> second ) {
+
+		return () -> new Iterator<T>() {
+
+			private Iterator<T> current = first.iterator();
+			private boolean onFirst = true;
+
+			@Override
+			public boolean hasNext () {
+
+				if ( !current.hasNext() && onFirst ) {
+
+					current = second.iterator();
+					onFirst = false;
+
+				}
+				return current.hasNext();
+
+			}
+
+			@Override
+			public T next () {
+
+				if ( !hasNext() ) throw new NoSuchElementException();
+				return current.next();
+
+			}
+		};
+	}
+}
@@ -0,0 +1,408 @@
+package graphcomponents;
+
+/**
+ * Adjacency list implementation of WeightedGraph. Each vertex keeps separate
+ * lists of its outgoing and incoming edges. All lists are IndexedLists and
+ * each vertex and edge knows its index in them, so removing an edge takes
+ * constant time and removing a vertex takes time proportional to its degree.
+ * The iterables returned are read-only live views rather than copies. Edge
+ * weights are kept in a primitive field of each edge.
+ */
+public class AdjacencyListDirectedGraph extends AbstractGraph
+    implements WeightedGraph {
+
+	// List of all vertices
+	private IndexedList<AdjacencyListVertex> vertices;
+	// List of all edges
+	private IndexedList<AdjacencyListEdge> edges;
+
+	// Constructs an empty directed adjacency list graph
+	public AdjacencyListDirectedGraph () {
+
+		vertices = new IndexedList<>();
+		edges = new IndexedList<>();
+
+	}
+
+	protected class AdjacencyListVertex extends AbstractVertex {
+
+		private IndexedList<AdjacencyListEdge> outgoingEdges;
+		private IndexedList<AdjacencyListEdge> incomingEdges;
+		private int position;
+
+		// Constructs a vertex with an associated object
+		public AdjacencyListVertex ( Object o ) {
+
+			super(o);
+			this.outgoingEdges = new IndexedList<>();
+			this.incomingEdges = new IndexedList<>();
+		}
+	}
+
+	protected class AdjacencyListEdge extends AbstractEdge implements WeightedEdge {
+
+		private double weight;
+		private AdjacencyListVertex origin, destination;
+		// Index in the list of all edges, in the origin's outgoing list and in
+		// the destination's incoming list
+		private int position, outPosition, inPosition;
+
+		// Constructs an edge from origin to destination with an associated object
+		// (null for an edge inserted with a weight) and a weight
+		public AdjacencyListEdge ( AdjacencyListVertex origin,
+		                           AdjacencyListVertex destination, Object o,
+		                           double weight ) {
+
+			super(o);
+			if ( origin == null || destination == null )
+			  throw new IllegalArgumentException("Vertices is null");
+
+			this.origin = origin;
+			this.destination = destination;
+			this.weight = weight;
+
+		}
+
+		// Returns the associated object, or the weight if there is none
+		@Override
+		public Object getObject () {
+
+			if ( super.getObject() == null && !Double.isNaN(weight) ) return weight;
+			else return super.getObject();
+
+		}
+
+		@Override
+		public double weight () {
+
+			return weight;
+
+		}
+	}
+
+	// Casts a vertex to this graph's vertex type
+	private AdjacencyListVertex validate ( Vertex v ) {
+
+		if ( v == null ) throw new IllegalArgumentException("Vertex is null");
+		if ( !(v instanceof AdjacencyListVertex) )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		AdjacencyListVertex alv = (AdjacencyListVertex) v;
+		if ( alv.position >= vertices.size() || vertices.get(alv.position) != alv )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		return alv;
+	}
+
+	// Casts an edge to this graph's edge type
+	private AdjacencyListEdge validate ( Edge e ) {
+
+		if ( e == null ) throw new IllegalArgumentException("Edge is null");
+		if ( !(e instanceof AdjacencyListEdge) )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		AdjacencyListEdge ale = (AdjacencyListEdge) e;
+		if ( ale.position >= edges.size() || edges.get(ale.position) != ale )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		return ale;
+	}
+
+	// Inserts a vertex with an associated object
+	@Override
+	public Vertex insertVertex ( Object o ) {
+
+		AdjacencyListVertex v = new AdjacencyListVertex(o);
+		v.position = vertices.add(v);
+		return v;
+
+	}
+
+	// Removes a specific edge from the graph
+	@Override
+	public void removeEdge ( Edge e ) {
+
+		AdjacencyListEdge ale = validate(e);
+
+		AdjacencyListEdge moved = ale.origin.outgoingEdges.remove(ale.outPosition);
+		if ( moved != null ) moved.outPosition = ale.outPosition;
+		moved = ale.destination.incomingEdges.remove(ale.inPosition);
+		if ( moved != null ) moved.inPosition = ale.inPosition;
+		moved = edges.remove(ale.position);
+		if ( moved != null ) moved.position = ale.position;
+
+	}
+
+	// Removes a specifc vertex and all its incident edges
+	@Override
+	public void removeVertex ( Vertex v ) {
+
+		AdjacencyListVertex alv = validate(v);
+
+		while ( alv.outgoingEdges.size() > 0 ) {
+
+			removeEdge(alv.outgoingEdges.get(alv.outgoingEdges.size() - 1));
+
+		}
+
+		while ( alv.incomingEdges.size() > 0 ) {
+
+			removeEdge(alv.incomingEdges.get(alv.incomingEdges.size() - 1));
+
+		}
+
+		AdjacencyListVertex moved = vertices.remove(alv.position);
+		if ( moved != null ) moved.position = alv.position;
+
+	}
+
+	// Returns the number of vertices
+	@Override
+	public int numVertices () {
+
+		return vertices.size();
+
+	}
+
+	// Returns the number of edges
+	@Override
+	public int numEdges () {
+
+		return edges.size();
+
+	}
+
+	// Returns a read-only view of all vertices
+	@Override
+	public Iterable<Vertex> vertices () {
+
+		return view(vertices);
+
+	}
+
+	// Returns a read-only view of all edges
+	@Override
+	public Iterable<Edge> edges () {
+
+		return view(edges);
+
+	}
+
+	// Returns a vertex
+	@Override
+	public Vertex aVertex () {
+
+		if ( vertices.size() == 0 ) return null;
+		else return vertices.get(0);
+
+	}
+
+	// Returns the total (in plus out) degree of the specified vertex
+	@Override
+	public int degree ( Vertex v ) {
+
+		AdjacencyListVertex alv = validate(v);
+		return alv.outgoingEdges.size() + alv.incomingEdges.size();
+
+	}
+
+	// Returns the number of edges leaving the specified vertex
+	@Override
+	public int outDegree ( Vertex v ) {
+
+		return validate(v).outgoingEdges.size();
+
+	}
+
+	// Returns the number of edges entering the specified vertex
+	@Override
+	public int inDegree ( Vertex v ) {
+
+		return validate(v).incomingEdges.size();
+
+	}
+
+	// Returns a read-only view of the vertices joined to the specified one by
+	// an edge in either direction
+	@Override
+	public Iterable<Vertex> adjacentVertices ( Vertex v ) {
+
+		AdjacencyListVertex alv = validate(v);
+		return concat(alv.outgoingEdges.map(e -> (Vertex) e.destination),
+		              alv.incomingEdges.map(e -> (Vertex) e.origin));
+
+	}
+
+	// Returns a read-only view of the outgoing and incoming edges of a
+	// specified vertex
+	@Override
+	public Iterable<Edge> incidentEdges ( Vertex v ) {
+
+		AdjacencyListVertex alv = validate(v);
+		return concat(view(alv.outgoingEdges),view(alv.incomingEdges));
+
+	}
+
+	// Returns a read-only view of the edges leaving a specified vertex
+	@Override
+	public Iterable<Edge> outgoingEdges ( Vertex v ) {
+
+		return view(validate(v).outgoingEdges);
+
+	}
+
+	// Returns a read-only view of the edges entering a specified vertex
+	@Override
+	public Iterable<Edge> incomingEdges ( Vertex v ) {
+
+		return view(validate(v).incomingEdges);
+
+	}
+
+	// Returns edge's end vertices as { origin, destination }
+	@Override
+	public Vertex[] endVertices ( Edge e ) {
+
+		AdjacencyListEdge ale = validate(e);
+		Vertex[] endVs = new Vertex[] { ale.origin, ale.destination };
+		return endVs;
+
+	}
+
+	// Returns the vertex a specified edge leaves
+	@Override
+	public Vertex origin ( Edge e ) {
+
+		return validate(e).origin;
+
+	}
+
+	// Returns the vertex a specified edge enters
+	@Override
+	public Vertex destination ( Edge e ) {
+
+		return validate(e).destination;
+
+	}
+
+	// Returns edge's opposite vertex to a specified one
+	@Override
+	public Vertex opposite ( Vertex v, Edge e ) {
+
+		AdjacencyListVertex alv = validate(v);
+		AdjacencyListEdge ale = validate(e);
+
+		if ( ale.origin == alv ) return ale.destination;
+		else if ( ale.destination == alv ) return ale.origin;
+		else
+		  throw new IllegalArgumentException("Vertex is not an endpoint of this edge");
+
+	}
+
+	// Checks whether two vertices are joined by an edge in either direction
+	@Override
+	public boolean areAdjacent ( Vertex v1, Vertex v2 ) {
+
+		return getEdge(v1,v2) != null || getEdge(v2,v1) != null;
+
+	}
+
+	// Returns the number of a vertex
+	@Override
+	public int index ( Vertex v ) {
+
+		return validate(v).position;
+
+	}
+
+	// Returns the weight of an edge
+	@Override
+	public double weight ( Edge e ) {
+
+		return validate(e).weight;
+
+	}
+
+	// Returns the least weight of an edge from vertex number u to vertex
+	// number v, infinite if there is none
+	@Override
+	public double weight ( int u, int v ) {
+
+		if ( u < 0 || u >= vertices.size() || v < 0 || v >= vertices.size() )
+		  throw new IndexOutOfBoundsException("No vertex " + u + " or " + v);
+
+		IndexedList<AdjacencyListEdge> es = vertices.get(u).outgoingEdges;
+		AdjacencyListVertex w = vertices.get(v);
+		double least = Double.POSITIVE_INFINITY;
+		for ( int i = 0 ; i < es.size() ; i++ ) {
+
+			if ( es.get(i).destination == w ) least = Math.min(least,es.get(i).weight);
+
+		}
+
+		return least;
+	}
+
+	// Returns the edge from one vertex to another, or null if there is none,
+	// scanning the shorter of the first's outgoing and the second's incoming
+	// edges
+	@Override
+	public Edge getEdge ( Vertex v1, Vertex v2 ) {
+
+		AdjacencyListVertex alv1 = validate(v1);
+		AdjacencyListVertex alv2 = validate(v2);
+
+		if ( alv1.outgoingEdges.size() <= alv2.incomingEdges.size() ) {
+
+			IndexedList<AdjacencyListEdge> es = alv1.outgoingEdges;
+			for ( int i = 0 ; i < es.size() ; i++ ) {
+
+				if ( es.get(i).destination == alv2 ) return es.get(i);
+
+			}
+
+		} else {
+
+			IndexedList<AdjacencyListEdge> es = alv2.incomingEdges;
+			for ( int i = 0 ; i < es.size() ; i++ ) {
+
+				if ( es.get(i).origin == alv1 ) return es.get(i);
+
+			}
+		}
+
+		return null;
+	}
+
+	// Inserts an edge directed from one vertex to another with an associated object
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, Object obj ) {
+
+		return insert(v1,v2,obj,weightOf(obj));
+
+	}
+
+	// Inserts an edge directed from one vertex to another with a weight
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, double weight ) {
+
+		return insert(v1,v2,null,weight);
+
+	}
+
+	// Inserts an edge with an object and a weight
+	private Edge insert ( Vertex v1, Vertex v2, Object obj, double weight ) {
+
+		AdjacencyListVertex alv1 = validate(v1);
+		AdjacencyListVertex alv2 = validate(v2);
+
+		if ( alv1 == alv2 ) throw new IllegalArgumentException("Equal vertices");
+
+		AdjacencyListEdge e = new AdjacencyListEdge(alv1,alv2,obj,weight);
+		e.outPosition = alv1.outgoingEdges.add(e);
+		e.inPosition = alv2.incomingEdges.add(e);
+		e.position = edges.add(e);
+		return e;
+
+	}
+}
@@ -0,0 +1,277 @@
+// Author: Tytus Felbor
+
+package graphcomponents;
+
+/**
+ * Adjacency list implementation of Graph. The vertices, the edges and the
+ * edges incident on each vertex are kept in IndexedLists, and each vertex and
+ * edge knows its index in them, so removing an edge takes constant time and
+ * removing a vertex takes time proportional to its degree. The iterables
+ * returned are read-only live views rather than copies.
+ */
+public class AdjacencyListGraph extends AbstractGraph {
+
+	// List of all vertices
+	private IndexedList<AdjacencyListVertex> vertices;
+	// List of all edges
+	private IndexedList<AdjacencyListEdge> edges;
+
+	// Constructs an empty adjacency list graph
+	public AdjacencyListGraph () {
+
+		vertices = new IndexedList<>();
+		edges = new IndexedList<>();
+
+	}
+
+	protected class AdjacencyListVertex extends AbstractVertex {
+
+		private IndexedList<AdjacencyListEdge> incidentEdges;
+		private int position;
+
+		// Constructs a vertex with an associated object
+		public AdjacencyListVertex ( Object o ) {
+
+			super(o);
+			this.incidentEdges = new IndexedList<>();
+		}
+	}
+
+	protected class AdjacencyListEdge extends AbstractEdge {
+
+		private AdjacencyListVertex v, w;
+		// Index in the list of all edges and in the incident lists of v and w
+		private int position, vPosition, wPosition;
+
+		// Constructs an edge between two vertices with an associated object
+		public AdjacencyListEdge ( AdjacencyListVertex v, AdjacencyListVertex w,
+		                           Object o ) {
+
+			super(o);
+			if ( v == null || w == null )
+			  throw new IllegalArgumentException("Vertices is null");
+
+			this.v = v;
+			this.w = w;
+
+		}
+
+		// Returns the end of this edge opposite a vertex known to be an end
+		private AdjacencyListVertex other ( AdjacencyListVertex u ) {
+
+			return (v == u) ? w : v;
+
+		}
+	}
+
+	// Casts a vertex to this graph's vertex type
+	private AdjacencyListVertex validate ( Vertex v ) {
+
+		if ( v == null ) throw new IllegalArgumentException("Vertex is null");
+		if ( !(v instanceof AdjacencyListVertex) )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		AdjacencyListVertex alv = (AdjacencyListVertex) v;
+		if ( alv.position >= vertices.size() || vertices.get(alv.position) != alv )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		return alv;
+	}
+
+	// Casts an edge to this graph's edge type
+	private AdjacencyListEdge validate ( Edge e ) {
+
+		if ( e == null ) throw new IllegalArgumentException("Edge is null");
+		if ( !(e instanceof AdjacencyListEdge) )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		AdjacencyListEdge ale = (AdjacencyListEdge) e;
+		if ( ale.position >= edges.size() || edges.get(ale.position) != ale )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		return ale;
+	}
+
+	// Inserts a vertex with an associated object
+	@Override
+	public Vertex insertVertex ( Object o ) {
+
+		AdjacencyListVertex v = new AdjacencyListVertex(o);
+		v.position = vertices.add(v);
+		return v;
+
+	}
+
+	// Removes a specific edge from the graph
+	@Override
+	public void removeEdge ( Edge e ) {
+
+		AdjacencyListEdge ale = validate(e);
+		detach(ale.v,ale.vPosition);
+		detach(ale.w,ale.wPosition);
+
+		AdjacencyListEdge moved = edges.remove(ale.position);
+		if ( moved != null ) moved.position = ale.position;
+
+	}
+
+	// Removes the edge at an index of a vertex's incident list
+	private void detach ( AdjacencyListVertex u, int i ) {
+
+		AdjacencyListEdge moved = u.incidentEdges.remove(i);
+		if ( moved == null ) return;
+
+		if ( moved.v == u ) moved.vPosition = i;
+		else moved.wPosition = i;
+
+	}
+
+	// Removes a specifc vertex and all its incident edges
+	@Override
+	public void removeVertex ( Vertex v ) {
+
+		AdjacencyListVertex alv = validate(v);
+
+		while ( alv.incidentEdges.size() > 0 ) {
+
+			removeEdge(alv.incidentEdges.get(alv.incidentEdges.size() - 1));
+
+		}
+
+		AdjacencyListVertex moved = vertices.remove(alv.position);
+		if ( moved != null ) moved.position = alv.position;
+
+	}
+
+	// Returns the number of vertices
+	@Override
+	public int numVertices () {
+
+		return vertices.size();
+
+	}
+
+	// Returns the number of edges
+	@Override
+	public int numEdges () {
+
+		return edges.size();
+
+	}
+
+	// Returns a read-only view of all vertices
+	@Override
+	public Iterable<Vertex> vertices () {
+
+		return view(vertices);
+
+	}
+
+	// Returns a read-only view of all edges
+	@Override
+	public Iterable<Edge> edges () {
+
+		return view(edges);
+
+	}
+
+	// Returns a vertex
+	@Override
+	public Vertex aVertex () {
+
+		if ( vertices.size() == 0 ) return null;
+		else return vertices.get(0);
+
+	}
+
+	// Returns the degree of the specified vertex
+	@Override
+	public int degree ( Vertex v ) {
+
+		return validate(v).incidentEdges.size();
+
+	}
+
+	// Returns a read-only view of the vertices adjacent to a specified vertex
+	@Override
+	public Iterable<Vertex> adjacentVertices ( Vertex v ) {
+
+		AdjacencyListVertex alv = validate(v);
+		return alv.incidentEdges.map(e -> e.other(alv));
+
+	}
+
+	// Returns a read-only view of the edges incident on a specified vertex
+	@Override
+	public Iterable<Edge> incidentEdges ( Vertex v ) {
+
+		return view(validate(v).incidentEdges);
+
+	}
+
+	// Returns edge's end vertices
+	@Override
+	public Vertex[] endVertices ( Edge e ) {
+
+		AdjacencyListEdge ale = validate(e);
+		Vertex[] endVs = new Vertex[] { ale.v, ale.w };
+		return endVs;
+
+	}
+
+	// Returns edge's opposite vertex to a specified one
+	@Override
+	public Vertex opposite ( Vertex v, Edge e ) {
+
+		AdjacencyListVertex alv = validate(v);
+		AdjacencyListEdge ale = validate(e);
+
+		if ( ale.v == alv ) return ale.w;
+		else if ( ale.w == alv ) return ale.v;
+		else
+		  throw new IllegalArgumentException("Vertex is not an endpoint of this edge");
+
+	}
+
+	// Checks whether two vertices are adjacent, scanning the shorter incident list
+	@Override
+	public boolean areAdjacent ( Vertex v1, Vertex v2 ) {
+
+		AdjacencyListVertex alv1 = validate(v1);
+		AdjacencyListVertex alv2 = validate(v2);
+
+		if ( alv2.incidentEdges.size() < alv1.incidentEdges.size() ) {
+
+			AdjacencyListVertex t = alv1;
+			alv1 = alv2;
+			alv2 = t;
+
+		}
+
+		IndexedList<AdjacencyListEdge> es = alv1.incidentEdges;
+		for ( int i = 0 ; i < es.size() ; i++ ) {
+
+			if ( es.get(i).other(alv1) == alv2 ) return true;
+
+		}
+
+		return false;
+	}
+
+	// Inserts an edge between two vertices with an associated object
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, Object obj ) {
+
+		AdjacencyListVertex alv1 = validate(v1);
+		AdjacencyListVertex alv2 = validate(v2);
+
+		if ( alv1 == alv2 ) throw new IllegalArgumentException("Equal vertices");
+
+		AdjacencyListEdge e = new AdjacencyListEdge(alv1,alv2,obj);
+		e.vPosition = alv1.incidentEdges.add(e);
+		e.wPosition = alv2.incidentEdges.add(e);
+		e.position = edges.add(e);
+		return e;
+
+	}
+}
@@ -0,0 +1,414 @@
+package graphcomponents;
+/**
+ * Adjacency matrix implementation of WeightedGraph. Vertices are kept in an
+ * array and know their index in it, and the edge from the vertex at index i
+ * to the vertex at index j is stored at matrix[i][j], so looking up an edge
+ * or its weight takes constant time. The array and matrix grow by doubling.
+ * There is at most one edge from one vertex to another.
+ */
+public class AdjacencyMatrixDirectedGraph extends AbstractGraph
+    implements WeightedGraph {
+
+	// Vertices by index, the number of vertices, and the edge from the vertex
+	// at each index to the vertex at each other index (null if none)
+	private IndexedList<AdjacencyMatrixVertex> vertices;
+	private AdjacencyMatrixEdge[][] matrix;
+	// All edges; each edge knows its position
+	private IndexedList<AdjacencyMatrixEdge> edges;
+
+	protected class AdjacencyMatrixEdge extends AbstractEdge
+	    implements WeightedEdge {
+
+		private double weight;
+		private AdjacencyMatrixVertex origin, destination;
+		private int position;
+
+		// Constructs an edge from origin to destination with an associated object
+		// (null for an edge inserted with a weight) and a weight
+		public AdjacencyMatrixEdge ( AdjacencyMatrixVertex origin,
+		                             AdjacencyMatrixVertex destination, Object o,
+		                             double weight ) {
+
+			super(o);
+			this.origin = origin;
+			this.destination = destination;
+			this.weight = weight;
+
+		}
+
+		// Returns the associated object, or the weight if there is none
+		@Override
+		public Object getObject () {
+
+			if ( super.getObject() == null && !Double.isNaN(weight) ) return weight;
+			else return super.getObject();
+
+		}
+
+		@Override
+		public double weight () {
+
+			return weight;
+
+		}
+	}
+
+	protected class AdjacencyMatrixVertex extends AbstractVertex {
+
+		private int index;
+		private int outDegree;
+		private int inDegree;
+
+		// Constructs a vertex with an associated object
+		public AdjacencyMatrixVertex ( Object o ) {
+
+			super(o);
+
+		}
+	}
+
+	// Constructs an empty directed adjacency matrix graph
+	public AdjacencyMatrixDirectedGraph () {
+
+		vertices = new IndexedList<>();
+		matrix = new AdjacencyMatrixEdge[16][16];
+		edges = new IndexedList<>();
+
+	}
+
+	// Casts a vertex to this graph's vertex type
+	private AdjacencyMatrixVertex validate ( Vertex v ) {
+
+		if ( v == null ) throw new IllegalArgumentException("Vertex is null");
+		if ( !(v instanceof AdjacencyMatrixVertex) )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		AdjacencyMatrixVertex amv = (AdjacencyMatrixVertex) v;
+		if ( amv.index >= vertices.size() || vertices.get(amv.index) != amv )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		return amv;
+	}
+
+	// Casts an edge to this graph's edge type
+	private AdjacencyMatrixEdge validate ( Edge e ) {
+
+		if ( e == null ) throw new IllegalArgumentException("Edge is null");
+		if ( !(e instanceof AdjacencyMatrixEdge) )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		AdjacencyMatrixEdge ame = (AdjacencyMatrixEdge) e;
+		if ( ame.position >= edges.size() || edges.get(ame.position) != ame )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		return ame;
+	}
+
+	// Inserts a vertex with an associated object
+	@Override
+	public Vertex insertVertex ( Object o ) {
+
+		AdjacencyMatrixVertex v = new AdjacencyMatrixVertex(o);
+		if ( vertices.size() == matrix.length ) grow();
+
+		v.index = vertices.add(v);
+		return v;
+
+	}
+
+	// Doubles the matrix
+	private void grow () {
+
+		int size = vertices.size();
+		int capacity = matrix.length * 2;
+		AdjacencyMatrixEdge[][] newMatrix = new AdjacencyMatrixEdge[capacity][capacity];
+
+		for ( int i = 0 ; i < size ; i++ ) {
+
+			System.arraycopy(matrix[i],0,newMatrix[i],0,size);
+
+		}
+
+		matrix = newMatrix;
+
+	}
+
+	// Removes a specific edge from the graph
+	@Override
+	public void removeEdge ( Edge e ) {
+
+		AdjacencyMatrixEdge ame = validate(e);
+		matrix[ame.origin.index][ame.destination.index] = null;
+		ame.origin.outDegree--;
+		ame.destination.inDegree--;
+
+		// The last edge moves into the removed one's position
+		AdjacencyMatrixEdge moved = edges.remove(ame.position);
+		if ( moved != null ) moved.position = ame.position;
+	}
+
+	// Removes a specifc vertex and all its incident edges
+	@Override
+	public void removeVertex ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		int i = amv.index;
+		int size = vertices.size();
+
+		for ( int j = 0 ; j < size ; j++ ) {
+
+			if ( matrix[i][j] != null ) removeEdge(matrix[i][j]);
+			if ( matrix[j][i] != null ) removeEdge(matrix[j][i]);
+
+		}
+
+		// The last vertex moves into the removed index; move its row and column
+		int last = size - 1;
+		AdjacencyMatrixVertex moved = vertices.remove(i);
+		if ( moved != null ) {
+
+			moved.index = i;
+			for ( int j = 0 ; j <= last ; j++ ) {
+
+				matrix[i][j] = matrix[last][j];
+				matrix[j][i] = matrix[j][last];
+
+			}
+			matrix[i][i] = null;
+
+		}
+
+		for ( int j = 0 ; j <= last ; j++ ) {
+
+			matrix[last][j] = null;
+			matrix[j][last] = null;
+
+		}
+	}
+
+	// Returns the number of vertices
+	@Override
+	public int numVertices () {
+
+		return vertices.size();
+
+	}
+
+	// Returns the number of edges
+	@Override
+	public int numEdges () {
+
+		return edges.size();
+
+	}
+
+	// Returns a read-only live view of all vertices
+	@Override
+	public Iterable<Vertex> vertices () {
+
+		return view(vertices);
+
+	}
+
+	// Returns a read-only live view of all edges
+	@Override
+	public Iterable<Edge> edges () {
+
+		return view(edges);
+
+	}
+
+	// Returns a vertex
+	@Override
+	public Vertex aVertex () {
+
+		if ( vertices.size() == 0 ) return null;
+		else return vertices.get(0);
+
+	}
+
+	// Returns the total (in plus out) degree of the specified vertex
+	@Override
+	public int degree ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		return amv.outDegree + amv.inDegree;
+
+	}
+
+	// Returns the number of edges leaving the specified vertex
+	@Override
+	public int outDegree ( Vertex v ) {
+
+		return validate(v).outDegree;
+
+	}
+
+	// Returns the number of edges entering the specified vertex
+	@Override
+	public int inDegree ( Vertex v ) {
+
+		return validate(v).inDegree;
+
+	}
+
+	// Returns vertices joined to the specified one by an edge in either direction
+	@Override
+	public Iterable<Vertex> adjacentVertices ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		return concat(
+		    nonNull(j -> (matrix[amv.index][j] != null) ? vertices.get(j) : null,vertices::size),
+		    nonNull(j -> (matrix[j][amv.index] != null) ? vertices.get(j) : null,vertices::size));
+
+	}
+
+	// Returns a read-only live view of the outgoing and then the incoming
+	// edges of a specified vertex
+	@Override
+	public Iterable<Edge> incidentEdges ( Vertex v ) {
+
+		return concat(outgoingEdges(v),incomingEdges(v));
+
+	}
+
+	// Returns a read-only live view of the edges leaving a specified vertex,
+	// found by scanning its row of the matrix
+	@Override
+	public Iterable<Edge> outgoingEdges ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		return nonNull(j -> matrix[amv.index][j],vertices::size);
+
+	}
+
+	// Returns a read-only live view of the edges entering a specified vertex,
+	// found by scanning its column of the matrix
+	@Override
+	public Iterable<Edge> incomingEdges ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		return nonNull(j -> matrix[j][amv.index],vertices::size);
+
+	}
+
+	// Returns edge's end vertices as { origin, destination }
+	@Override
+	public Vertex[] endVertices ( Edge e ) {
+
+		AdjacencyMatrixEdge ame = validate(e);
+		Vertex[] endVs = new Vertex[] { ame.origin, ame.destination };
+		return endVs;
+
+	}
+
+	// Returns the vertex a specified edge leaves
+	@Override
+	public Vertex origin ( Edge e ) {
+
+		return validate(e).origin;
+
+	}
+
+	// Returns the vertex a specified edge enters
+	@Override
+	public Vertex destination ( Edge e ) {
+
+		return validate(e).destination;
+
+	}
+
+	// Returns edge's opposite vertex to a specified one
+	@Override
+	public Vertex opposite ( Vertex v, Edge e ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		AdjacencyMatrixEdge ame = validate(e);
+
+		if ( ame.origin == amv ) return ame.destination;
+		else if ( ame.destination == amv ) return ame.origin;
+		else
+		  throw new IllegalArgumentException("Vertex is not an endpoint of this edge");
+
+	}
+
+	// Checks whether two vertices are joined by an edge in either direction
+	@Override
+	public boolean areAdjacent ( Vertex v1, Vertex v2 ) {
+
+		return getEdge(v1,v2) != null || getEdge(v2,v1) != null;
+
+	}
+
+	// Returns the edge from one vertex to another, or null if there is none
+	@Override
+	public Edge getEdge ( Vertex v1, Vertex v2 ) {
+
+		return matrix[validate(v1).index][validate(v2).index];
+
+	}
+
+	// Returns the number of a vertex
+	@Override
+	public int index ( Vertex v ) {
+
+		return validate(v).index;
+
+	}
+
+	// Returns the weight of an edge
+	@Override
+	public double weight ( Edge e ) {
+
+		return validate(e).weight;
+
+	}
+
+	// Returns the weight of the edge from vertex number u to vertex number v,
+	// infinite if there is none
+	@Override
+	public double weight ( int u, int v ) {
+
+		if ( u < 0 || u >= vertices.size() || v < 0 || v >= vertices.size() )
+		  throw new IndexOutOfBoundsException("No vertex " + u + " or " + v);
+
+		AdjacencyMatrixEdge e = matrix[u][v];
+		return (e != null) ? e.weight : Double.POSITIVE_INFINITY;
+
+	}
+
+	// Inserts an edge directed from one vertex to another with an associated object
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, Object obj ) {
+
+		return insert(v1,v2,obj,weightOf(obj));
+
+	}
+
+	// Inserts an edge directed from one vertex to another with a weight
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, double weight ) {
+
+		return insert(v1,v2,null,weight);
+
+	}
+
+	// Inserts an edge with an object and a weight
+	private Edge insert ( Vertex v1, Vertex v2, Object obj, double weight ) {
+
+		AdjacencyMatrixVertex amv1 = validate(v1);
+		AdjacencyMatrixVertex amv2 = validate(v2);
+
+		if ( amv1 == amv2 ) throw new IllegalArgumentException("Equal vertices");
+		if ( matrix[amv1.index][amv2.index] != null )
+		  throw new IllegalArgumentException("Edge already exists");
+
+		AdjacencyMatrixEdge e = new AdjacencyMatrixEdge(amv1,amv2,obj,weight);
+		matrix[amv1.index][amv2.index] = e;
+		amv1.outDegree++;
+		amv2.inDegree++;
+		e.position = edges.add(e);
+		return e;
+
+	}
+}
@@ -0,0 +1,297 @@
+package graphcomponents;
+/**
+ * Adjacency matrix implementation of Graph. Vertices are kept in an array
+ * and know their index in it, and the edge between the vertices at indices i
+ * and j is stored at matrix[i][j] and matrix[j][i], so looking up the edge
+ * between two vertices, and checking whether they are adjacent, takes
+ * constant time. The array and matrix grow by doubling. There is at most one
+ * edge between two vertices.
+ */
+public class AdjacencyMatrixGraph extends AbstractGraph implements Graph {
+
+	// Vertices by index, the number of vertices, and the edge between the
+	// vertices at each pair of indices (null if none)
+	private IndexedList<AdjacencyMatrixVertex> vertices;
+	private AdjacencyMatrixEdge[][] matrix;
+	// All edges; each edge knows its position
+	private IndexedList<AdjacencyMatrixEdge> edges;
+
+	protected class AdjacencyMatrixEdge extends AbstractEdge implements Edge {
+
+		private AdjacencyMatrixVertex v, w;
+		private int position;
+
+		// Constructs an edge between two vertices with an associated object
+		public AdjacencyMatrixEdge ( AdjacencyMatrixVertex v,
+		                             AdjacencyMatrixVertex w, Object o ) {
+
+			super(o);
+			this.v = v;
+			this.w = w;
+
+		}
+	}
+
+	protected class AdjacencyMatrixVertex extends AbstractVertex
+	    implements Vertex {
+
+		private int index;
+		private int degree;
+
+		// Constructs a vertex with an associated object
+		public AdjacencyMatrixVertex ( Object o ) {
+
+			super(o);
+
+		}
+	}
+
+	// Constructs an empty adjacency matrix graph
+	public AdjacencyMatrixGraph () {
+
+		vertices = new IndexedList<>();
+		matrix = new AdjacencyMatrixEdge[16][16];
+		edges = new IndexedList<>();
+
+	}
+
+	// Casts a vertex to this graph's vertex type
+	private AdjacencyMatrixVertex validate ( Vertex v ) {
+
+		if ( v == null ) throw new IllegalArgumentException("Vertex is null");
+		if ( !(v instanceof AdjacencyMatrixVertex) )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		AdjacencyMatrixVertex amv = (AdjacencyMatrixVertex) v;
+		if ( amv.index >= vertices.size() || vertices.get(amv.index) != amv )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		return amv;
+	}
+
+	// Casts an edge to this graph's edge type
+	private AdjacencyMatrixEdge validate ( Edge e ) {
+
+		if ( e == null ) throw new IllegalArgumentException("Edge is null");
+		if ( !(e instanceof AdjacencyMatrixEdge) )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		AdjacencyMatrixEdge ame = (AdjacencyMatrixEdge) e;
+		if ( ame.position >= edges.size() || edges.get(ame.position) != ame )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		return ame;
+	}
+
+	// Inserts a vertex with an associated object
+	@Override
+	public Vertex insertVertex ( Object o ) {
+
+		AdjacencyMatrixVertex v = new AdjacencyMatrixVertex(o);
+		if ( vertices.size() == matrix.length ) grow();
+
+		v.index = vertices.add(v);
+		return v;
+
+	}
+
+	// Doubles the matrix
+	private void grow () {
+
+		int size = vertices.size();
+		int capacity = matrix.length * 2;
+		AdjacencyMatrixEdge[][] newMatrix = new AdjacencyMatrixEdge[capacity][capacity];
+
+		for ( int i = 0 ; i < size ; i++ ) {
+
+			System.arraycopy(matrix[i],0,newMatrix[i],0,size);
+
+		}
+
+		matrix = newMatrix;
+
+	}
+
+	// Removes a specific edge from the graph
+	@Override
+	public void removeEdge ( Edge e ) {
+
+		AdjacencyMatrixEdge ame = validate(e);
+		matrix[ame.v.index][ame.w.index] = null;
+		matrix[ame.w.index][ame.v.index] = null;
+		ame.v.degree--;
+		ame.w.degree--;
+
+		// The last edge moves into the removed one's position
+		AdjacencyMatrixEdge moved = edges.remove(ame.position);
+		if ( moved != null ) moved.position = ame.position;
+	}
+
+	// Removes a specifc vertex and all its incident edges
+	@Override
+	public void removeVertex ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		int i = amv.index;
+		int size = vertices.size();
+
+		for ( int j = 0 ; j < size ; j++ ) {
+
+			if ( matrix[i][j] != null ) removeEdge(matrix[i][j]);
+
+		}
+
+		// The last vertex moves into the removed index; move its row and column
+		int last = size - 1;
+		AdjacencyMatrixVertex moved = vertices.remove(i);
+		if ( moved != null ) {
+
+			moved.index = i;
+			for ( int j = 0 ; j <= last ; j++ ) {
+
+				matrix[i][j] = matrix[last][j];
+				matrix[j][i] = matrix[j][last];
+
+			}
+			matrix[i][i] = null;
+
+		}
+
+		for ( int j = 0 ; j <= last ; j++ ) {
+
+			matrix[last][j] = null;
+			matrix[j][last] = null;
+
+		}
+	}
+
+	// Returns the number of vertices
+	@Override
+	public int numVertices () {
+
+		return vertices.size();
+
+	}
+
+	// Returns the number of edges
+	@Override
+	public int numEdges () {
+
+		return edges.size();
+
+	}
+
+	// Returns a read-only live view of all vertices
+	@Override
+	public Iterable<Vertex> vertices () {
+
+		return view(vertices);
+
+	}
+
+	// Returns a read-only live view of all edges
+	@Override
+	public Iterable<Edge> edges () {
+
+		return view(edges);
+
+	}
+
+	// Returns a vertex
+	@Override
+	public Vertex aVertex () {
+
+		if ( vertices.size() == 0 ) return null;
+		else return vertices.get(0);
+
+	}
+
+	// Returns the degree of the specified vertex
+	@Override
+	public int degree ( Vertex v ) {
+
+		return validate(v).degree;
+
+	}
+
+	// Returns a read-only live view of the vertices adjacent to a specified
+	// one, found by scanning its row of the matrix
+	@Override
+	public Iterable<Vertex> adjacentVertices ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		return nonNull(j -> (matrix[amv.index][j] != null) ? vertices.get(j) : null,
+		               vertices::size);
+
+	}
+
+	// Returns a read-only live view of the edges incident to a specified
+	// vertex, found by scanning its row of the matrix
+	@Override
+	public Iterable<Edge> incidentEdges ( Vertex v ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		return nonNull(j -> matrix[amv.index][j],vertices::size);
+
+	}
+
+	// Returns edge's end vertices
+	@Override
+	public Vertex[] endVertices ( Edge e ) {
+
+		AdjacencyMatrixEdge ame = validate(e);
+		Vertex[] endVs = new Vertex[] { ame.v, ame.w };
+		return endVs;
+
+	}
+
+	// Returns edge's opposite vertex to a specified one
+	@Override
+	public Vertex opposite ( Vertex v, Edge e ) {
+
+		AdjacencyMatrixVertex amv = validate(v);
+		AdjacencyMatrixEdge ame = validate(e);
+
+		if ( ame.v == amv ) return ame.w;
+		else if ( ame.w == amv ) return ame.v;
+		else
+		  throw new IllegalArgumentException("Vertex is not an endpoint of this edge");
+
+	}
+
+	// Checks whether two vertices are adjacent
+	@Override
+	public boolean areAdjacent ( Vertex v1, Vertex v2 ) {
+
+		return getEdge(v1,v2) != null;
+
+	}
+
+	// Returns the edge between two vertices, or null if there is none
+	public Edge getEdge ( Vertex v1, Vertex v2 ) {
+
+		return matrix[validate(v1).index][validate(v2).index];
+
+	}
+
+	// Inserts an edge between two vertices with an associated object
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, Object obj ) {
+
+		AdjacencyMatrixVertex amv1 = validate(v1);
+		AdjacencyMatrixVertex amv2 = validate(v2);
+
+		if ( amv1 == amv2 ) throw new IllegalArgumentException("Equal vertices");
+		if ( matrix[amv1.index][amv2.index] != null )
+		  throw new IllegalArgumentException("Vertices are already adjacent");
+
+		AdjacencyMatrixEdge e = new AdjacencyMatrixEdge(amv1,amv2,obj);
+		matrix[amv1.index][amv2.index] = e;
+		matrix[amv2.index][amv1.index] = e;
+		amv1.degree++;
+		amv2.degree++;
+		e.position = edges.add(e);
+		return e;
+
+	}
+}
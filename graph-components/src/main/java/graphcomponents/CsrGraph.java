@@ -0,0 +1,573 @@
+package graphcomponents;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable compressed sparse row implementation of WeightedGraph, for large
+ * sparse maps. The edges leaving vertex u are i = offsets[u] .. offsets[u + 1]
+ * - 1, and edge i goes to targets[i] with weight weights[i]; its origin is
+ * found by binary search of offsets. A second index lists the edges entering
+ * each vertex. Edges are not stored as objects: each Edge handed out is a
+ * small view of its index, and the iterables returned walk the arrays instead
+ * of copying them. Each edge's object is its weight. A Cursor walks the edges
+ * leaving a vertex by index without handing out Edges at all.
+ *
+ * A CsrGraph is bulk-loaded with a Builder; the insert and remove methods
+ * throw UnsupportedOperationException.
+ */
+public class CsrGraph extends AbstractGraph implements WeightedGraph {
+
+	private final CsrVertex[] vertices;
+	private final int[] offsets;
+	private final int[] targets;
+	private final double[] weights;
+	// Edges entering vertex v are inEdges[inOffsets[v] .. inOffsets[v + 1] - 1]
+	private final int[] inOffsets;
+	private final int[] inEdges;
+
+	protected class CsrVertex extends AbstractVertex {
+
+		private final int index;
+
+		// Constructs the vertex at an index with an associated object
+		public CsrVertex ( Object o, int index ) {
+
+			super(o);
+			this.index = index;
+
+		}
+	}
+
+	protected class CsrEdge extends AbstractEdge implements WeightedEdge {
+
+		private final int index;
+
+		// Constructs a view of the edge at an index
+		public CsrEdge ( int index ) {
+
+			super(null);
+			this.index = index;
+
+		}
+
+		@Override
+		public Object getObject () {
+
+			return weights[index];
+
+		}
+
+		@Override
+		public double weight () {
+
+			return weights[index];
+
+		}
+
+		@Override
+		public boolean equals ( Object o ) {
+
+			return o instanceof CsrEdge && ((CsrEdge) o).graph() == CsrGraph.this
+			    && ((CsrEdge) o).index == index;
+
+		}
+
+		@Override
+		public int hashCode () {
+
+			return index;
+
+		}
+
+		private CsrGraph graph () {
+
+			return CsrGraph.this;
+
+		}
+	}
+
+	/**
+	 * A reusable cursor over the edges leaving a vertex, which reads the edge
+	 * arrays by index instead of allocating an Edge for each step:
+	 *
+	 *   for ( cursor.start(u) ; cursor.next() ; ) use(cursor.target(),cursor.weight());
+	 */
+	public class Cursor {
+
+		private int edge;
+		private int end;
+
+		// Places the cursor before the first edge leaving vertex number u
+		public void start ( int u ) {
+
+			if ( u < 0 || u >= vertices.length )
+			  throw new IndexOutOfBoundsException("No vertex " + u);
+
+			edge = offsets[u] - 1;
+			end = offsets[u + 1];
+
+		}
+
+		// Moves to the next edge; returns false if there is none
+		public boolean next () {
+
+			return ++edge < end;
+
+		}
+
+		// Returns the number of the vertex the current edge enters
+		public int target () {
+
+			return targets[edge];
+
+		}
+
+		// Returns the weight of the current edge
+		public double weight () {
+
+			return weights[edge];
+
+		}
+	}
+
+	/**
+	 * Collects vertices and weighted edges in primitive arrays and builds them
+	 * into a CsrGraph.
+	 */
+	public static class Builder {
+
+		private Object[] objects = new Object[16];
+		private int numVertices;
+		private int[] from = new int[16];
+		private int[] to = new int[16];
+		private double[] weight = new double[16];
+		private int numEdges;
+
+		// Adds a vertex with an associated object and returns its index
+		public int addVertex ( Object o ) {
+
+			if ( o == null )
+			  throw new IllegalArgumentException("Vertex object is null");
+
+			if ( numVertices == objects.length ) {
+
+				objects = Arrays.copyOf(objects,numVertices * 2);
+
+			}
+			objects[numVertices] = o;
+			return numVertices++;
+
+		}
+
+		// Adds an edge from the vertex at index u to the vertex at index v
+		public void addEdge ( int u, int v, double w ) {
+
+			if ( u < 0 || u >= numVertices || v < 0 || v >= numVertices )
+			  throw new IllegalArgumentException("Vertices must be a part of this graph");
+			if ( u == v ) throw new IllegalArgumentException("Equal vertices");
+
+			if ( numEdges == from.length ) {
+
+				from = Arrays.copyOf(from,numEdges * 2);
+				to = Arrays.copyOf(to,numEdges * 2);
+				weight = Arrays.copyOf(weight,numEdges * 2);
+
+			}
+			from[numEdges] = u;
+			to[numEdges] = v;
+			weight[numEdges++] = w;
+
+		}
+
+		// Builds the graph; edges leaving a vertex keep the order they were added
+		public CsrGraph build () {
+
+			return new CsrGraph(this);
+
+		}
+	}
+
+	// Sorts the edges of a builder into rows by counting
+	private CsrGraph ( Builder b ) {
+
+		int n = b.numVertices;
+		int m = b.numEdges;
+
+		vertices = new CsrVertex[n];
+		for ( int i = 0 ; i < n ; i++ ) {
+
+			vertices[i] = new CsrVertex(b.objects[i],i);
+
+		}
+
+		offsets = new int[n + 1];
+		inOffsets = new int[n + 1];
+		for ( int i = 0 ; i < m ; i++ ) {
+
+			offsets[b.from[i] + 1]++;
+			inOffsets[b.to[i] + 1]++;
+
+		}
+		for ( int u = 0 ; u < n ; u++ ) {
+
+			offsets[u + 1] += offsets[u];
+			inOffsets[u + 1] += inOffsets[u];
+
+		}
+
+		targets = new int[m];
+		weights = new double[m];
+		int[] next = Arrays.copyOf(offsets,n);
+		for ( int i = 0 ; i < m ; i++ ) {
+
+			int e = next[b.from[i]]++;
+			targets[e] = b.to[i];
+			weights[e] = b.weight[i];
+
+		}
+
+		inEdges = new int[m];
+		int[] inNext = Arrays.copyOf(inOffsets,n);
+		for ( int e = 0 ; e < m ; e++ ) {
+
+			inEdges[inNext[targets[e]]++] = e;
+
+		}
+	}
+
+	// Casts a vertex to this graph's vertex type
+	private CsrVertex validate ( Vertex v ) {
+
+		if ( v == null ) throw new IllegalArgumentException("Vertex is null");
+		if ( !(v instanceof CsrVertex) || ((CsrVertex) v).index >= vertices.length
+		    || vertices[((CsrVertex) v).index] != v )
+		  throw new IllegalArgumentException("Vertex must be a part of this graph");
+
+		return (CsrVertex) v;
+
+	}
+
+	// Casts an edge to this graph's edge type
+	private CsrEdge validate ( Edge e ) {
+
+		if ( e == null ) throw new IllegalArgumentException("Edge is null");
+		if ( !(e instanceof CsrEdge) || ((CsrEdge) e).graph() != this )
+		  throw new IllegalArgumentException("Edge must be a part of this graph");
+
+		return (CsrEdge) e;
+
+	}
+
+	// An iterable over edge indices from[start] .. from[end - 1], or over
+	// start .. end - 1 itself if from is null
+	private Iterable<Edge> edgeView ( int[] from, int start, int end ) {
+
+		return () -> new Iterator<Edge>() {
+
+			private int i = start;
+
+			@Override
+			public boolean hasNext () {
+
+				return i < end;
+
+			}
+
+			@Override
+			public Edge next () {
+
+				if ( i >= end ) throw new NoSuchElementException();
+				return new CsrEdge((from != null) ? from[i++] : i++);
+
+			}
+		};
+	}
+
+	// Returns the number of the vertex edge e leaves: the last vertex whose
+	// edges start at or before e
+	private int originOf ( int e ) {
+
+		int lo = 0;
+		int hi = vertices.length - 1;
+		while ( lo < hi ) {
+
+			int mid = (lo + hi + 1) >>> 1;
+			if ( offsets[mid] <= e ) lo = mid;
+			else hi = mid - 1;
+
+		}
+		return lo;
+	}
+
+	// An iterable over the targets of edge indices start .. end - 1, or over
+	// the origins of edge indices from[start] .. from[end - 1] if from is not
+	// null
+	private Iterable<Vertex> vertexView ( int[] from, int start, int end ) {
+
+		return () -> new Iterator<Vertex>() {
+
+			private int i = start;
+
+			@Override
+			public boolean hasNext () {
+
+				return i < end;
+
+			}
+
+			@Override
+			public Vertex next () {
+
+				if ( i >= end ) throw new NoSuchElementException();
+				if ( from == null ) return vertices[targets[i++]];
+				return vertices[originOf(from[i++])];
+
+			}
+		};
+	}
+
+	// Returns a new cursor over the edges leaving a vertex
+	public Cursor cursor () {
+
+		return new Cursor();
+
+	}
+
+	// Returns the number of vertices
+	@Override
+	public int numVertices () {
+
+		return vertices.length;
+
+	}
+
+	// Returns the number of edges
+	@Override
+	public int numEdges () {
+
+		return targets.length;
+
+	}
+
+	// Returns a read-only view of all vertices
+	@Override
+	public Iterable<Vertex> vertices () {
+
+		return () -> Arrays.<Vertex>asList(vertices).iterator();
+
+	}
+
+	// Returns a view of all edges, grouped by origin
+	@Override
+	public Iterable<Edge> edges () {
+
+		return edgeView(null,0,targets.length);
+
+	}
+
+	// Returns a vertex
+	@Override
+	public Vertex aVertex () {
+
+		if ( vertices.length == 0 ) return null;
+		else return vertices[0];
+
+	}
+
+	// Returns the total (in plus out) degree of the specified vertex
+	@Override
+	public int degree ( Vertex v ) {
+
+		return outDegree(v) + inDegree(v);
+
+	}
+
+	// Returns the number of edges leaving the specified vertex
+	@Override
+	public int outDegree ( Vertex v ) {
+
+		int u = validate(v).index;
+		return offsets[u + 1] - offsets[u];
+
+	}
+
+	// Returns the number of edges entering the specified vertex
+	@Override
+	public int inDegree ( Vertex v ) {
+
+		int u = validate(v).index;
+		return inOffsets[u + 1] - inOffsets[u];
+
+	}
+
+	// Returns a view of the vertices joined to the specified one by an edge in
+	// either direction
+	@Override
+	public Iterable<Vertex> adjacentVertices ( Vertex v ) {
+
+		int u = validate(v).index;
+		Iterable<Vertex> out = vertexView(null,offsets[u],offsets[u + 1]);
+		Iterable<Vertex> in = vertexView(inEdges,inOffsets[u],inOffsets[u + 1]);
+		return concat(out,in);
+
+	}
+
+	// Returns a view of the outgoing and incoming edges of a specified vertex
+	@Override
+	public Iterable<Edge> incidentEdges ( Vertex v ) {
+
+		return concat(outgoingEdges(v),incomingEdges(v));
+
+	}
+
+	// Returns a view of the edges leaving a specified vertex
+	@Override
+	public Iterable<Edge> outgoingEdges ( Vertex v ) {
+
+		int u = validate(v).index;
+		return edgeView(null,offsets[u],offsets[u + 1]);
+
+	}
+
+	// Returns a view of the edges entering a specified vertex
+	@Override
+	public Iterable<Edge> incomingEdges ( Vertex v ) {
+
+		int u = validate(v).index;
+		return edgeView(inEdges,inOffsets[u],inOffsets[u + 1]);
+
+	}
+
+	// Returns edge's end vertices as { origin, destination }
+	@Override
+	public Vertex[] endVertices ( Edge e ) {
+
+		CsrEdge ce = validate(e);
+		return new Vertex[] { vertices[originOf(ce.index)], vertices[targets[ce.index]] };
+
+	}
+
+	// Returns the vertex a specified edge leaves
+	@Override
+	public Vertex origin ( Edge e ) {
+
+		return vertices[originOf(validate(e).index)];
+
+	}
+
+	// Returns the vertex a specified edge enters
+	@Override
+	public Vertex destination ( Edge e ) {
+
+		return vertices[targets[validate(e).index]];
+
+	}
+
+	// Returns edge's opposite vertex to a specified one
+	@Override
+	public Vertex opposite ( Vertex v, Edge e ) {
+
+		CsrVertex cv = validate(v);
+		CsrEdge ce = validate(e);
+
+		if ( originOf(ce.index) == cv.index ) return vertices[targets[ce.index]];
+		else if ( targets[ce.index] == cv.index ) return vertices[originOf(ce.index)];
+		else
+		  throw new IllegalArgumentException("Vertex is not an endpoint of this edge");
+
+	}
+
+	// Checks whether two vertices are joined by an edge in either direction
+	@Override
+	public boolean areAdjacent ( Vertex v1, Vertex v2 ) {
+
+		return getEdge(v1,v2) != null || getEdge(v2,v1) != null;
+
+	}
+
+	// Returns the first edge from one vertex to another, or null if there is none
+	@Override
+	public Edge getEdge ( Vertex v1, Vertex v2 ) {
+
+		int u = validate(v1).index;
+		int v = validate(v2).index;
+
+		for ( int e = offsets[u] ; e < offsets[u + 1] ; e++ ) {
+
+			if ( targets[e] == v ) return new CsrEdge(e);
+
+		}
+
+		return null;
+	}
+
+	// Returns the number of a vertex
+	@Override
+	public int index ( Vertex v ) {
+
+		return validate(v).index;
+
+	}
+
+	// Returns the weight of an edge
+	@Override
+	public double weight ( Edge e ) {
+
+		return weights[validate(e).index];
+
+	}
+
+	// Returns the least weight of an edge from vertex number u to vertex
+	// number v, infinite if there is none
+	@Override
+	public double weight ( int u, int v ) {
+
+		if ( u < 0 || u >= vertices.length || v < 0 || v >= vertices.length )
+		  throw new IndexOutOfBoundsException("No vertex " + u + " or " + v);
+
+		double least = Double.POSITIVE_INFINITY;
+		for ( int e = offsets[u] ; e < offsets[u + 1] ; e++ ) {
+
+			if ( targets[e] == v ) least = Math.min(least,weights[e]);
+
+		}
+
+		return least;
+	}
+
+	@Override
+	public Vertex insertVertex ( Object o ) {
+
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+
+	}
+
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, Object obj ) {
+
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+
+	}
+
+	@Override
+	public Edge insertEdge ( Vertex v1, Vertex v2, double weight ) {
+
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+
+	}
+
+	@Override
+	public void removeEdge ( Edge e ) {
+
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+
+	}
+
+	@Override
+	public void removeVertex ( Vertex v ) {
+
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+
+	}
+}
@@ -0,0 +1,89 @@
+package graphcomponents;
+
+/**
+ * A directed graph. Each edge (v,w) is oriented from its origin v to its
+ * destination w. The inherited Graph operations treat an edge as incident on
+ * both of its endpoints.
+ */
+public interface DirectedGraph extends Graph {
+
+	/**
+	 * Get the edges leaving the specified vertex.
+	 *
+	 * @param v
+	 *          the vertex
+	 * @return the edges whose origin is v
+	 */
+	public Iterable<Edge> outgoingEdges ( Vertex v );
+
+	/**
+	 * Get the edges entering the specified vertex.
+	 *
+	 * @param v
+	 *          the vertex
+	 * @return the edges whose destination is v
+	 */
+	public Iterable<Edge> incomingEdges ( Vertex v );
+
+	/**
+	 * Get the number of edges leaving the specified vertex.
+	 *
+	 * @param v
+	 *          the vertex
+	 * @return the out-degree of v
+	 */
+	public int outDegree ( Vertex v );
+
+	/**
+	 * Get the number of edges entering the specified vertex.
+	 *
+	 * @param v
+	 *          the vertex
+	 * @return the in-degree of v
+	 */
+	public int inDegree ( Vertex v );
+
+	/**
+	 * Get the origin of the specified edge.
+	 *
+	 * @param e
+	 *          the edge
+	 * @return the vertex e leaves
+	 */
+	public Vertex origin ( Edge e );
+
+	/**
+	 * Get the destination of the specified edge.
+	 *
+	 * @param e
+	 *          the edge
+	 * @return the vertex e enters
+	 */
+	public Vertex destination ( Edge e );
+
+	/**
+	 * Get the edge from one vertex to another.
+	 *
+	 * @param v
+	 *          the origin vertex
+	 * @param w
+	 *          the destination vertex
+	 * @return the edge (v,w), or null if there is no such edge
+	 */
+	public Edge getEdge ( Vertex v, Vertex w );
+
+	/**
+	 * Insert an edge (v,w) directed from v to w with an associated object.
+	 *
+	 * @param v
+	 *          the origin vertex
+	 * @param w
+	 *          the destination vertex
+	 * @param obj
+	 *          the object to be associated with the edge
+	 * @return the new edge inserted
+	 */
+	@Override
+	public Edge insertEdge ( Vertex v, Vertex w, Object obj );
+
+}
@@ -1,4 +1,4 @@
-package graph-components;
+package graphcomponents;
 
 /**
  * An edge in the graph.
@@ -1,4 +1,4 @@
-package graph-components;
+package graphcomponents;
 
 /**
  * An undirected graph.
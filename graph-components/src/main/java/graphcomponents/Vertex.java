@@ -1,4 +1,4 @@
-package graph-components;
+package graphcomponents;
 
 /**
  * A vertex in the graph.
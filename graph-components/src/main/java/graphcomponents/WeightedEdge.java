@@ -0,0 +1,17 @@
+package graphcomponents;
+
+/**
+ * An edge with a weight held as a primitive double rather than a boxed
+ * object.
+ */
+public interface WeightedEdge extends Edge {
+
+	/**
+	 * Get the weight of this edge.
+	 *
+	 * @return the weight of this edge, NaN if it was inserted with an object
+	 *         that is not a Number
+	 */
+	public double weight ();
+
+}
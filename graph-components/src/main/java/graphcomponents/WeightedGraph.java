@@ -0,0 +1,55 @@
+package graphcomponents;
+
+/**
+ * A directed graph whose edges are WeightedEdges. An edge inserted with a
+ * weight has that weight, and one inserted with an object that is a Number
+ * weighs its value. The vertices are numbered 0 .. numVertices() - 1 in the
+ * order vertices() returns them, so weights can be read by edge or by the
+ * numbers of its endpoints without boxing.
+ */
+public interface WeightedGraph extends DirectedGraph {
+
+	/**
+	 * Get the number of the specified vertex.
+	 *
+	 * @param v
+	 *          the vertex
+	 * @return the position of v in vertices(), until the graph changes
+	 */
+	public int index ( Vertex v );
+
+	/**
+	 * Get the weight of the specified edge.
+	 *
+	 * @param e
+	 *          the edge
+	 * @return the weight of e
+	 */
+	public double weight ( Edge e );
+
+	/**
+	 * Get the weight of the lightest edge from one vertex to another.
+	 *
+	 * @param u
+	 *          the number of the origin vertex
+	 * @param v
+	 *          the number of the destination vertex
+	 * @return the least weight of an edge (u,v), or positive infinity if
+	 *         there is no such edge
+	 */
+	public double weight ( int u, int v );
+
+	/**
+	 * Insert an edge (v,w) directed from v to w with a weight.
+	 *
+	 * @param v
+	 *          the origin vertex
+	 * @param w
+	 *          the destination vertex
+	 * @param weight
+	 *          the weight of the edge
+	 * @return the new edge inserted
+	 */
+	public Edge insertEdge ( Vertex v, Vertex w, double weight );
+
+}
@@ -0,0 +1,111 @@
+package graphcomponents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A CsrGraph must answer like an AdjacencyListDirectedGraph holding the same
+ * edges, including the origins it finds by binary search and vertices
+ * without outgoing edges, and its cursor must walk the same edges.
+ */
+class CsrGraphTest {
+
+	private static final int N = 200;
+
+	private final CsrGraph csr;
+	private final AdjacencyListDirectedGraph list = new AdjacencyListDirectedGraph();
+	private final Vertex[] listVertices = new Vertex[N];
+
+	CsrGraphTest () {
+
+		CsrGraph.Builder builder = new CsrGraph.Builder();
+		for ( int i = 0 ; i < N ; i++ ) {
+
+			builder.addVertex(i);
+			listVertices[i] = list.insertVertex(i);
+
+		}
+
+		// Vertices 4 to 19 have no outgoing edges
+		Random random = new Random(3);
+		for ( int i = 0 ; i < 900 ; i++ ) {
+
+			int u = random.nextInt(N);
+			int v = random.nextInt(N);
+			if ( u == v || (u >= 4 && u < 20) ) continue;
+
+			double weight = random.nextDouble();
+			builder.addEdge(u,v,weight);
+			list.insertEdge(listVertices[u],listVertices[v],weight);
+
+		}
+		csr = builder.build();
+
+	}
+
+	// Describes the edges of a vertex by their ends and weights, sorted
+	private static List<String> describe ( WeightedGraph graph, Vertex v ) {
+
+		List<String> edges = new ArrayList<>();
+		for ( Edge e : graph.incidentEdges(v) ) {
+
+			edges.add(graph.origin(e).getObject() + ">" + graph.destination(e).getObject()
+			    + " " + graph.weight(e) + " opposite " + graph.opposite(v,e).getObject()
+			    + " ends " + graph.endVertices(e)[0].getObject());
+
+		}
+		Collections.sort(edges);
+		return edges;
+	}
+
+	@Test
+	void matchesTheListGraph () {
+
+		assertEquals(list.numEdges(),csr.numEdges());
+		for ( Vertex v : csr.vertices() ) {
+
+			Vertex w = listVertices[csr.index(v)];
+			assertEquals(describe(list,w),describe(csr,v));
+			assertEquals(list.outDegree(w),csr.outDegree(v));
+			assertEquals(list.inDegree(w),csr.inDegree(v));
+
+			List<Integer> expected = new ArrayList<>();
+			for ( Vertex u : list.adjacentVertices(w) ) expected.add((Integer) u.getObject());
+			List<Integer> actual = new ArrayList<>();
+			for ( Vertex u : csr.adjacentVertices(v) ) actual.add((Integer) u.getObject());
+			Collections.sort(expected);
+			Collections.sort(actual);
+			assertEquals(expected,actual);
+
+		}
+	}
+
+	@Test
+	void cursorWalksTheOutgoingEdges () {
+
+		CsrGraph.Cursor cursor = csr.cursor();
+		for ( Vertex v : csr.vertices() ) {
+
+			List<String> expected = new ArrayList<>();
+			for ( Edge e : csr.outgoingEdges(v) ) {
+
+				expected.add(csr.index(csr.destination(e)) + " " + csr.weight(e));
+				assertSame(v,csr.origin(e));
+
+			}
+
+			List<String> actual = new ArrayList<>();
+			for ( cursor.start(csr.index(v)) ; cursor.next() ; ) {
+
+				actual.add(cursor.target() + " " + cursor.weight());
+
+			}
+			assertEquals(expected,actual);
+
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package graphcomponents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Every mutable graph must keep its views consistent through swap-removes of
+ * vertices and edges: a 40-vertex path with one chord, then a vertex removed
+ * from its middle.
+ */
+class GraphViewsTest {
+
+	private static final int N = 40;
+
+	// Builds a graph of a type with a path 0 - 1 - ... - 39 and a chord 0 - 5
+	private static Graph path ( String type, List<Vertex> vertices ) {
+
+		Graph graph;
+		switch ( type ) {
+
+			case "list": graph = new AdjacencyListGraph(); break;
+			case "matrix": graph = new AdjacencyMatrixGraph(); break;
+			case "directed-list": graph = new AdjacencyListDirectedGraph(); break;
+			case "directed-matrix": graph = new AdjacencyMatrixDirectedGraph(); break;
+			default: throw new IllegalArgumentException("Unknown graph " + type);
+
+		}
+		for ( int i = 0 ; i < N ; i++ ) {
+
+			vertices.add(graph.insertVertex("v" + i));
+
+		}
+		for ( int i = 0 ; i + 1 < N ; i++ ) {
+
+			graph.insertEdge(vertices.get(i),vertices.get(i + 1),(double) i);
+
+		}
+		graph.insertEdge(vertices.get(0),vertices.get(5),"chord");
+		return graph;
+	}
+
+	// Returns the number of elements of an iterable
+	private static int count ( Iterable<?> iterable ) {
+
+		int count = 0;
+		for ( Object o : iterable ) count++;
+		return count;
+
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "list", "matrix", "directed-list", "directed-matrix" })
+	void viewsFollowRemovals ( String type ) {
+
+		List<Vertex> vs = new ArrayList<>();
+		Graph graph = path(type,vs);
+		assertEquals(N,count(graph.vertices()));
+		assertEquals(N,count(graph.edges()));
+		assertEquals(2,count(graph.incidentEdges(vs.get(0))));
+		assertEquals(2,count(graph.adjacentVertices(vs.get(0))));
+
+		Iterable<Vertex> vertices = graph.vertices();
+		Iterable<Edge> edges = graph.edges();
+		graph.removeVertex(vs.get(5));
+
+		assertEquals(N - 1,graph.numVertices());
+		assertEquals(N - 1,count(vertices));
+		assertEquals(N - 3,graph.numEdges());
+		assertEquals(N - 3,count(edges));
+		assertEquals(1,count(graph.incidentEdges(vs.get(0))));
+		assertTrue(graph.areAdjacent(vs.get(N - 1),vs.get(N - 2)));
+
+		Set<Object> objects = new HashSet<>();
+		for ( Vertex v : graph.vertices() ) objects.add(v.getObject());
+		assertEquals(N - 1,objects.size());
+		assertFalse(objects.contains("v5"));
+
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "list", "matrix", "directed-list", "directed-matrix" })
+	void edgesKeepTheirObjects ( String type ) {
+
+		List<Vertex> vs = new ArrayList<>();
+		Graph graph = path(type,vs);
+		Edge chord = graph.insertEdge(vs.get(10),vs.get(20),"other");
+
+		assertEquals("other",chord.getObject());
+		assertEquals("v10",vs.get(10).getObject());
+		assertThrows(IllegalArgumentException.class,() -> graph.insertVertex(null));
+
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "list", "matrix", "directed-list", "directed-matrix" })
+	void removalDuringWalkFails ( String type ) {
+
+		List<Vertex> vs = new ArrayList<>();
+		Graph graph = path(type,vs);
+		assertThrows(ConcurrentModificationException.class,() -> {
+
+			for ( Edge e : graph.edges() ) graph.removeEdge(e);
+
+		});
+	}
+}
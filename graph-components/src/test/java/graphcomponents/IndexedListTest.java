@@ -0,0 +1,112 @@
+package graphcomponents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Swap-remove and the live views of IndexedList: a removal moves the last
+ * element into the hole, and a view walked across a change of its graph
+ * fails fast.
+ */
+class IndexedListTest {
+
+	private AbstractGraph.IndexedList<String> list;
+
+	@BeforeEach
+	void fill () {
+
+		list = new AdjacencyListGraph().new IndexedList<>();
+		for ( String s : new String[] { "a", "b", "c", "d", "e" } ) {
+
+			list.add(s);
+
+		}
+	}
+
+	// Returns the elements of an iterable in order
+	private static <T> List<T> elements ( Iterable<T> iterable ) {
+
+		List<T> elements = new ArrayList<>();
+		iterable.forEach(elements::add);
+		return elements;
+
+	}
+
+	@Test
+	void addReturnsTheIndex () {
+
+		assertEquals(5,list.add("f"));
+		assertEquals("f",list.get(5));
+		assertEquals(6,list.size());
+
+	}
+
+	@Test
+	void removeMovesTheLastElementIntoTheHole () {
+
+		assertEquals("e",list.remove(1));
+		assertEquals(List.of("a","e","c","d"),elements(list));
+
+	}
+
+	@Test
+	void removingTheLastElementMovesNothing () {
+
+		assertNull(list.remove(4));
+		assertEquals(List.of("a","b","c","d"),elements(list));
+
+	}
+
+	@Test
+	void viewsAreLive () {
+
+		Iterable<Integer> lengths = list.map(String::length);
+		list.remove(0);
+		list.add("ff");
+		assertEquals(List.of(1,1,1,1,2),elements(lengths));
+
+	}
+
+	@Test
+	void changeDuringWalkFails () {
+
+		Iterator<String> it = list.iterator();
+		it.next();
+		list.remove(0);
+		assertThrows(ConcurrentModificationException.class,it::next);
+
+	}
+
+	@Test
+	void changeToAnotherListOfTheGraphFails () {
+
+		// Every list of one graph shares its modification count
+		AdjacencyListGraph graph = new AdjacencyListGraph();
+		AbstractGraph.IndexedList<String> first = graph.new IndexedList<>();
+		AbstractGraph.IndexedList<String> second = graph.new IndexedList<>();
+		first.add("a");
+		first.add("b");
+
+		Iterator<String> it = first.iterator();
+		it.next();
+		second.add("c");
+		assertThrows(ConcurrentModificationException.class,it::next);
+
+	}
+
+	@Test
+	void walkPastTheEndFails () {
+
+		Iterator<String> it = list.iterator();
+		for ( int i = 0 ; i < 5 ; i++ ) it.next();
+		assertThrows(NoSuchElementException.class,it::next);
+
+	}
+}
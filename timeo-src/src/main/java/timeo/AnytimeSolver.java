@@ -0,0 +1,390 @@
+package timeo;
+import java.util.Random;
+
+/**
+ * Anytime heuristic solver. A greedy route is built by points per minute,
+ * respecting each control's time window, and then improved by local search
+ * (insert, remove, 2-opt and Or-opt moves) with random restarts until a
+ * deadline. The best route found so far is always available, and it can be
+ * used as the starting incumbent of the exact search.
+ */
+class AnytimeSolver {
+
+	// Longest segment moved by an Or-opt move
+	private static final int MAX_SEGMENT = 3;
+	// Candidates a randomized greedy restart picks among at each step
+	private static final int GREEDY_CHOICES = 3;
+
+	private final Course course;
+	private final SolverView view;
+	private final Random random;
+
+	// Working route, candidate route and the best route found, as control ids
+	private int[] route;
+	private int length;
+	private int[] candidate;
+	private final int[] bestRoute;
+	private int bestLength;
+
+	// Score and finish time of the working and best routes
+	private int score;
+	private double finish;
+	private int bestScore;
+	private double bestFinish;
+
+	// Finish time of the last route evaluated
+	private double evaluatedFinish;
+
+	private long deadline;
+
+	AnytimeSolver ( Course course, long seed ) {
+
+		this.course = course;
+		this.view = course.view;
+		this.random = new Random(seed);
+
+		int size = course.numControls();
+		route = new int[size];
+		candidate = new int[size];
+		bestRoute = new int[size];
+
+	}
+
+	// Searches until the time budget runs out (or after a fixed number of
+	// restarts on small courses) and returns the best solution found
+	TimeO.Solution solve ( long budgetMillis ) {
+
+		deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+
+		length = greedy(1);
+		score = evaluate(route,length);
+		finish = evaluatedFinish;
+		bestLength = 0;
+		bestScore = 0;
+		bestFinish = Double.POSITIVE_INFINITY;
+		keepIfBest();
+
+		int restarts = 0;
+		while ( !expired() && restarts < 50 * (course.numControls() + 1) ) {
+
+			improve();
+			keepIfBest();
+			perturb();
+			restarts++;
+
+		}
+
+		return solution();
+	}
+
+	// Builds a route by repeatedly appending one of the choices controls with
+	// the most points per minute of added time that can still be visited
+	// before they close, picked at random (the best one when choices is 1)
+	private int greedy ( int choices ) {
+
+		boolean[] used = new boolean[view.size];
+		int[] top = new int[choices];
+		double[] topRatio = new double[choices];
+		int n = 0;
+		int current = SolverView.START;
+		double time = 0.0;
+
+		while ( true ) {
+
+			int found = 0;
+			for ( int c = 1 ; c < view.size ; c++ ) {
+
+				if ( used[c] || course.points[c] <= 0 ) continue;
+
+				double visit = Math.max(time + view.time(current,c),course.openTime[c]);
+				if ( visit > course.closeTime[c] ) continue;
+
+				// Keep the candidates sorted by decreasing ratio
+				double ratio = course.points[c] / Math.max(visit - time,1e-9);
+				int k = Math.min(found,choices - 1);
+				if ( found == choices && ratio <= topRatio[k] ) continue;
+				while ( k > 0 && topRatio[k - 1] < ratio ) {
+
+					top[k] = top[k - 1];
+					topRatio[k] = topRatio[k - 1];
+					k--;
+
+				}
+				top[k] = c;
+				topRatio[k] = ratio;
+				found = Math.min(found + 1,choices);
+
+			}
+
+			if ( found == 0 ) return n;
+
+			int next = top[random.nextInt(found)];
+			used[next] = true;
+			route[n++] = next;
+			time = Math.max(time + view.time(current,next),course.openTime[next]);
+			current = next;
+
+		}
+	}
+
+	// Applies improving moves until none is left or the deadline passes
+	private void improve () {
+
+		boolean improved = true;
+		while ( improved && !expired() ) {
+
+			improved = tryRemove() || tryInsert() || trySwap() || tryTwoOpt()
+			    || tryOrOpt();
+
+		}
+	}
+
+	// Moves the working route somewhere else for the next local search:
+	// either a fresh randomized greedy route, or the best or working route
+	// with a random stretch dropped
+	private void perturb () {
+
+		int kind = random.nextInt(3);
+		if ( kind == 0 ) {
+
+			length = greedy(GREEDY_CHOICES);
+			score = evaluate(route,length);
+			finish = evaluatedFinish;
+			return;
+
+		}
+
+		if ( kind == 1 ) {
+
+			System.arraycopy(bestRoute,0,route,0,bestLength);
+			length = bestLength;
+
+		}
+
+		if ( length == 0 ) return;
+
+		int drops = 1 + random.nextInt(Math.min(4,length));
+		int i = random.nextInt(length - drops + 1);
+		System.arraycopy(route,i + drops,route,i,length - i - drops);
+		length -= drops;
+
+		score = evaluate(route,length);
+		finish = evaluatedFinish;
+
+	}
+
+	private boolean tryRemove () {
+
+		for ( int i = 0 ; i < length ; i++ ) {
+
+			int n = 0;
+			for ( int k = 0 ; k < length ; k++ ) {
+
+				if ( k != i ) candidate[n++] = route[k];
+
+			}
+
+			if ( accept(n) ) return true;
+			if ( expired() ) return false;
+
+		}
+
+		return false;
+	}
+
+	private boolean tryInsert () {
+
+		for ( int c = 1 ; c < view.size ; c++ ) {
+
+			if ( course.points[c] <= 0 || contains(c) ) continue;
+
+			for ( int i = 0 ; i <= length ; i++ ) {
+
+				System.arraycopy(route,0,candidate,0,i);
+				candidate[i] = c;
+				System.arraycopy(route,i,candidate,i + 1,length - i);
+
+				if ( accept(length + 1) ) return true;
+
+			}
+
+			if ( expired() ) return false;
+
+		}
+
+		return false;
+	}
+
+	// Replaces a control on the route with one that is not on it
+	private boolean trySwap () {
+
+		for ( int c = 1 ; c < view.size ; c++ ) {
+
+			if ( course.points[c] <= 0 || contains(c) ) continue;
+
+			for ( int i = 0 ; i < length ; i++ ) {
+
+				System.arraycopy(route,0,candidate,0,length);
+				candidate[i] = c;
+
+				if ( accept(length) ) return true;
+
+			}
+
+			if ( expired() ) return false;
+
+		}
+
+		return false;
+	}
+
+	// Reverses a segment of the route
+	private boolean tryTwoOpt () {
+
+		for ( int i = 0 ; i < length - 1 ; i++ ) {
+
+			for ( int j = i + 1 ; j < length ; j++ ) {
+
+				System.arraycopy(route,0,candidate,0,length);
+				for ( int a = i, b = j ; a < b ; a++, b-- ) {
+
+					int swap = candidate[a];
+					candidate[a] = candidate[b];
+					candidate[b] = swap;
+
+				}
+
+				if ( accept(length) ) return true;
+
+			}
+
+			if ( expired() ) return false;
+
+		}
+
+		return false;
+	}
+
+	// Moves a segment of up to MAX_SEGMENT controls to another position
+	private boolean tryOrOpt () {
+
+		for ( int len = 1 ; len <= MAX_SEGMENT ; len++ ) {
+
+			for ( int i = 0 ; i + len <= length ; i++ ) {
+
+				for ( int j = 0 ; j <= length - len ; j++ ) {
+
+					if ( j == i ) continue;
+
+					// Route without the segment, with the segment put back at j
+					int n = 0;
+					for ( int k = 0 ; k < length ; k++ ) {
+
+						if ( n == j ) {
+
+							System.arraycopy(route,i,candidate,n,len);
+							n += len;
+
+						}
+						if ( k < i || k >= i + len ) candidate[n++] = route[k];
+
+					}
+					if ( n == j ) {
+
+						System.arraycopy(route,i,candidate,n,len);
+						n += len;
+
+					}
+
+					if ( accept(n) ) return true;
+
+				}
+
+				if ( expired() ) return false;
+
+			}
+		}
+
+		return false;
+	}
+
+	// Makes the candidate the working route if it is better
+	private boolean accept ( int n ) {
+
+		int s = evaluate(candidate,n);
+		if ( s > score || (s == score && evaluatedFinish < finish) ) {
+
+			int[] swap = route;
+			route = candidate;
+			candidate = swap;
+			length = n;
+			score = s;
+			finish = evaluatedFinish;
+			return true;
+
+		}
+
+		return false;
+	}
+
+	// Records the working route if it beats the best one
+	private void keepIfBest () {
+
+		if ( score > bestScore || (score == bestScore && finish < bestFinish) ) {
+
+			System.arraycopy(route,0,bestRoute,0,length);
+			bestLength = length;
+			bestScore = score;
+			bestFinish = finish;
+
+		}
+	}
+
+	// Returns the total score of a route, leaving its finish time in
+	// evaluatedFinish; a route with a missing leg scores Integer.MIN_VALUE
+	private int evaluate ( int[] ids, int n ) {
+
+		int current = SolverView.START;
+		double time = 0.0;
+		int raw = 0;
+
+		for ( int i = 0 ; i < n ; i++ ) {
+
+			int c = ids[i];
+			time = Math.max(time + view.time(current,c),course.openTime[c]);
+			if ( time <= course.closeTime[c] ) raw += course.points[c];
+			current = c;
+
+		}
+
+		evaluatedFinish = time + view.time(current,SolverView.START);
+		if ( evaluatedFinish == Double.POSITIVE_INFINITY ) return Integer.MIN_VALUE;
+		return raw - course.penalty(evaluatedFinish);
+	}
+
+	private boolean contains ( int c ) {
+
+		for ( int i = 0 ; i < length ; i++ ) {
+
+			if ( route[i] == c ) return true;
+
+		}
+
+		return false;
+	}
+
+	private boolean expired () {
+
+		return System.nanoTime() >= deadline;
+
+	}
+
+	// Builds the solution for the best route, or an empty one if no route
+	// scores more than zero
+	private TimeO.Solution solution () {
+
+		if ( bestScore <= 0 ) return new TimeO.Solution();
+		return course.route(bestRoute,bestLength);
+
+	}
+}
@@ -0,0 +1,382 @@
+package timeo;
+import graphcomponents.*;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batch mode: solves a manifest of (course file, pace) jobs against one map.
+ * The map is read once with the raw leg distances as edge weights. In minutes
+ * a travel time is the distance times the pace, so the fastest routes do not
+ * depend on the pace: one set of shortest distances serves every job, scaled
+ * by the job's pace, and the tree from each control is searched once for the
+ * whole batch. With --ticks each leg is rounded at its pace, so a pace gets
+ * its own shortest times, kept for the few paces used most recently.
+ *
+ * Jobs are solved concurrently by a fixed pool of workers, and one result line
+ * per job is printed in manifest order, as JSON or CSV. Each worker keeps one
+ * transposition table for all its jobs, and a job that fails reports its error
+ * in its line.
+ *
+ * Each manifest line names a course file (relative to the manifest) and a
+ * pace; blank lines and lines starting with # are skipped.
+ */
+class BatchSolver {
+
+	// Columns of the CSV output
+	private static final String CSV_HEADER =
+	    "job,course,pace,score,raw_score,penalty,time,millis,route,error";
+
+	private final SolverOptions options;
+	private final WeightedGraph graph;
+	private final Map<String,Vertex> codeToVertex;
+	// Paces whose shortest times in ticks are kept at once
+	private static final int PACES_KEPT = 4;
+
+	// Shortest distances of the map, scaled by each job's pace in minutes
+	private final ShortestPaths distances;
+	// Shortest times in ticks of the paces used most recently; a pace is
+	// prepared outside the lock, and jobs at that pace meanwhile wait for it
+	private final Map<Double,CompletableFuture<ShortestPaths>> ticks =
+	    new LinkedHashMap<Double,CompletableFuture<ShortestPaths>>(16,0.75f,true) {
+
+		@Override
+		protected boolean removeEldestEntry (
+		    Map.Entry<Double,CompletableFuture<ShortestPaths>> eldest ) {
+
+			return size() > PACES_KEPT;
+
+		}
+	};
+	// Transposition table of each worker thread, allocated by its first job
+	// that uses one and cleared by every search that starts on it
+	private final ThreadLocal<TranspositionTable> tables = new ThreadLocal<>();
+
+	// A course to solve at a pace, numbered from 1 in manifest order
+	static class Job {
+
+		int number;
+		String course;
+		String file;
+		double pace;
+
+	}
+
+	// The best solution of a job, or the error that stopped it
+	static class Result {
+
+		Job job;
+		TimeO.Solution solution;
+		String error;
+		long millis;
+		// Search statistics as a JSON object, null unless --stats was given
+		String stats;
+
+	}
+
+	// Reads the map that every job is solved against
+	BatchSolver ( String mapFile, SolverOptions options ) throws IOException {
+
+		this.options = options;
+		MapBuilder map = new MapBuilder(options.graph);
+		TimeO.readMapFile(mapFile,map,1.0,0);
+		codeToVertex = new HashMap<>();
+		graph = map.build(codeToVertex);
+		distances = ShortestPaths.compute(graph);
+
+	}
+
+	// Runs "batch <map_file> <manifest_file> [options]"
+	static void main ( String[] args ) {
+
+		if ( args.length < 3 ) {
+			TimeO.printUsage();
+			return;
+		}
+
+		try {
+
+			SolverOptions options = SolverOptions.parse(args,3);
+			if ( options.initialRoute != null || options.saveRoute != null
+			    || options.compareCold || options.statsJson != null
+			    || options.progress || options.topK > 1 )
+			  throw new IllegalArgumentException("--initial, --save-route, "
+			      + "--compare-cold, --stats-json, --progress and --top-k only "
+			      + "apply to a single run");
+
+			List<Job> jobs = readManifest(args[2]);
+			new BatchSolver(args[1],options).run(jobs,System.out);
+
+		} catch ( IOException e ) {
+			System.err.println("Error reading files: " + e.getMessage());
+		} catch ( IllegalArgumentException e ) {
+			System.err.println("Error: " + e.getMessage());
+		}
+	}
+
+	// Reads the jobs of a manifest file
+	static List<Job> readManifest ( String manifest ) throws IOException {
+
+		MappedText text = new MappedText(manifest);
+		Path dir = Paths.get(manifest).toAbsolutePath().getParent();
+		List<Job> jobs = new ArrayList<>();
+
+		while ( text.nextLine() ) {
+
+			String course = text.nextWord();
+			if ( course.startsWith("#") ) continue;
+
+			Job job = new Job();
+			job.number = jobs.size() + 1;
+			job.course = course;
+			job.file = dir.resolve(course).toString();
+			job.pace = text.nextDouble();
+			if ( !(job.pace > 0) ) throw text.error("pace must be positive");
+			text.endLine();
+			jobs.add(job);
+
+		}
+
+		return jobs;
+	}
+
+	// Solves the jobs on the worker pool, printing each result line as soon
+	// as it and every job before it are done
+	void run ( List<Job> jobs, PrintStream out ) {
+
+		if ( options.format.equals("csv") ) out.println(CSV_HEADER);
+
+		int workers = Math.max(1,Math.min(options.workers,jobs.size()));
+		ExecutorService pool = Executors.newFixedThreadPool(workers);
+		try {
+
+			List<Future<Result>> results = new ArrayList<>();
+			for ( Job job : jobs ) {
+
+				results.add(pool.submit(() -> solve(job)));
+
+			}
+
+			for ( int i = 0 ; i < jobs.size() ; i++ ) {
+
+				out.println(format(result(jobs.get(i),results.get(i))));
+
+			}
+
+		} catch ( InterruptedException e ) {
+
+			Thread.currentThread().interrupt();
+
+		} finally {
+
+			pool.shutdownNow();
+
+		}
+	}
+
+	// Waits for the result of a job; a job that failed unexpectedly reports
+	// the error like one whose course cannot be read
+	private static Result result ( Job job, Future<Result> future )
+	    throws InterruptedException {
+
+		try {
+
+			return future.get();
+
+		} catch ( ExecutionException e ) {
+
+			Result result = new Result();
+			result.job = job;
+			result.error = String.valueOf(e.getCause());
+			return result;
+
+		}
+	}
+
+	// Solves one job; a job whose course cannot be read reports the error
+	Result solve ( Job job ) {
+
+		Result result = new Result();
+		result.job = job;
+		long start = System.nanoTime();
+
+		try {
+
+			List<TimeO.Control> controls = new ArrayList<>();
+			TimeO.TimeLimit limit = TimeO.readCourseFile(job.file,controls,null);
+			int ticksPerMinute = options.ticksPerMinute;
+			SolverView view = (ticksPerMinute > 0)
+			    ? SolverView.compile(ticks(job.pace),codeToVertex,controls,ticksPerMinute)
+			    : SolverView.compile(distances,codeToVertex,controls,job.pace,0);
+			Course course =
+			    new Course(view,controls,limit.minutes,limit.penaltyPerMinute);
+			BranchAndBound search = TimeO.newSearch(course,options,table(course));
+			result.solution = TimeO.findBestPath(search,options,new TimeO.Solution());
+			result.solution.visits = view.expandRoute(result.solution.visits);
+			if ( options.stats ) result.stats = search.stats().toJson();
+
+		} catch ( IOException e ) {
+			result.error = "Error reading files: " + e.getMessage();
+		} catch ( IllegalArgumentException e ) {
+			result.error = e.getMessage();
+		}
+
+		result.millis = (System.nanoTime() - start) / 1_000_000;
+		return result;
+	}
+
+	// Returns the shortest times in ticks at a pace, preparing them if no
+	// job has yet or they were dropped for more recent paces
+	private ShortestPaths ticks ( double pace ) {
+
+		CompletableFuture<ShortestPaths> paths;
+		boolean created = false;
+		synchronized ( ticks ) {
+
+			paths = ticks.get(pace);
+			if ( paths == null ) {
+
+				paths = new CompletableFuture<>();
+				ticks.put(pace,paths);
+				created = true;
+
+			}
+		}
+
+		if ( created ) {
+
+			try {
+
+				paths.complete(ShortestPaths.compute(graph,pace,options.ticksPerMinute));
+
+			} catch ( RuntimeException e ) {
+
+				synchronized ( ticks ) {
+
+					ticks.remove(pace,paths);
+
+				}
+				paths.completeExceptionally(e);
+				throw e;
+
+			}
+		}
+
+		return paths.join();
+	}
+
+	// Returns the transposition table of the calling worker thread, or null if
+	// the course does not use one
+	private TranspositionTable table ( Course course ) {
+
+		if ( options.tableMegabytes == 0 || course.view.size > Long.SIZE ) return null;
+		if ( tables.get() == null ) {
+
+			tables.set(new TranspositionTable(options.tableMegabytes));
+
+		}
+		return tables.get();
+	}
+
+	// Formats a result as one line of the chosen output format
+	String format ( Result result ) {
+
+		// Vertices along the route, without the return to the start
+		List<String> route = new ArrayList<>();
+		TimeO.Solution solution = result.solution;
+		if ( solution != null ) {
+
+			for ( int i = 0 ; i < solution.visits.size() - 1 ; i++ ) {
+
+				route.add(solution.visits.get(i).code);
+
+			}
+		}
+
+		Job job = result.job;
+		if ( options.format.equals("csv") ) {
+
+			StringBuilder line = new StringBuilder();
+			line.append(job.number).append(',').append(csv(job.course)).append(',')
+			    .append(job.pace).append(',');
+			if ( solution != null ) {
+
+				line.append(solution.totalScore).append(',').append(solution.rawScore)
+				    .append(',').append(solution.penalty).append(',')
+				    .append(solution.totalTime);
+
+			} else {
+
+				line.append(",,,");
+
+			}
+			line.append(',').append(result.millis).append(',')
+			    .append(csv(String.join(" ",route))).append(',')
+			    .append((result.error != null) ? csv(result.error) : "");
+			return line.toString();
+
+		}
+
+		StringBuilder line = new StringBuilder();
+		line.append("{\"job\":").append(job.number).append(",\"course\":")
+		    .append(json(job.course)).append(",\"pace\":").append(job.pace);
+		if ( solution != null ) {
+
+			line.append(",\"score\":").append(solution.totalScore)
+			    .append(",\"rawScore\":").append(solution.rawScore)
+			    .append(",\"penalty\":").append(solution.penalty)
+			    .append(",\"time\":").append(solution.totalTime)
+			    .append(",\"millis\":").append(result.millis).append(",\"route\":[");
+			for ( int i = 0 ; i < route.size() ; i++ ) {
+
+				if ( i > 0 ) line.append(',');
+				line.append(json(route.get(i)));
+
+			}
+			line.append(']');
+			if ( result.stats != null ) line.append(",\"stats\":").append(result.stats);
+
+		} else {
+
+			line.append(",\"millis\":").append(result.millis)
+			    .append(",\"error\":").append(json(result.error));
+
+		}
+		return line.append('}').toString();
+	}
+
+	// Quotes a CSV field if it holds a comma, quote or line break
+	private static String csv ( String field ) {
+
+		if ( !field.matches("(?s).*[,\"\r\n].*") ) return field;
+		return "\"" + field.replace("\"","\"\"") + "\"";
+
+	}
+
+	// Quotes a string as a JSON string literal
+	private static String json ( String s ) {
+
+		StringBuilder quoted = new StringBuilder("\"");
+		for ( int i = 0 ; i < s.length() ; i++ ) {
+
+			char c = s.charAt(i);
+			if ( c == '"' || c == '\\' ) quoted.append('\\').append(c);
+			else if ( c < 0x20 ) quoted.append(String.format("\\u%04x",(int) c));
+			else quoted.append(c);
+
+		}
+
+		return quoted.append('"').toString();
+	}
+}
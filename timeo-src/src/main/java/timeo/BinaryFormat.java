@@ -0,0 +1,309 @@
+package timeo;
+import graphcomponents.*;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary form of a map and course, for maps solved repeatedly. The
+ * file holds the vertex codes, the legs of the map as compressed sparse rows
+ * (the legs out of vertex u are at offsets[u] .. offsets[u + 1] - 1) with
+ * their unscaled distances, the time limit and the controls of the course.
+ * It can also hold the shortest-path trees from the start and each control
+ * for one pace, which a run at that pace restores instead of recomputing them.
+ *
+ * Layout (big-endian): magic, version, vertex count, codes (length-prefixed
+ * UTF-8), leg count, offsets, targets, distances, time limit, penalty per
+ * minute, control count, controls (vertex, points, open and close time),
+ * then the pace of the stored trees (NaN if none) and, if present, the tree
+ * count and each tree as its source, times and predecessors. A file is read
+ * from one memory mapping with bulk array reads.
+ */
+class BinaryFormat {
+
+	// "TIMO" and the version of the layout above
+	private static final int MAGIC = 0x54494D4F;
+	private static final int VERSION = 2;
+
+	// Does the file start with the magic number of the binary format?
+	static boolean isBinary ( String file ) {
+
+		try (FileChannel channel = FileChannel.open(Paths.get(file),
+		                                            StandardOpenOption.READ)) {
+
+			ByteBuffer head = ByteBuffer.allocate(4);
+			return channel.read(head,0) == 4 && head.getInt(0) == MAGIC;
+
+		} catch ( IOException e ) {
+
+			return false;
+
+		}
+	}
+
+	// Writes a map graph read with a pace of 1 (so its edges hold the unscaled
+	// distances) and its course; if pace is positive, also stores the
+	// shortest-path trees at that pace
+	static void write ( String file, WeightedGraph graph,
+	                    Map<String,Vertex> codeToVertex,
+	                    List<TimeO.Control> controls, TimeO.TimeLimit limit,
+	                    double pace )
+	    throws IOException {
+
+		Vertex[] vertices = new Vertex[graph.numVertices()];
+		for ( Vertex v : graph.vertices() ) {
+
+			vertices[graph.index(v)] = v;
+
+		}
+
+		// Legs grouped by origin
+		int n = vertices.length;
+		int[] offsets = new int[n + 1];
+		int[] targets = new int[graph.numEdges()];
+		double[] distances = new double[graph.numEdges()];
+		int legs = 0;
+		for ( int u = 0 ; u < n ; u++ ) {
+
+			offsets[u] = legs;
+			for ( Edge edge : graph.outgoingEdges(vertices[u]) ) {
+
+				targets[legs] = graph.index(graph.destination(edge));
+				distances[legs++] = graph.weight(edge);
+
+			}
+		}
+		offsets[n] = legs;
+
+		try (DataOutputStream out = new DataOutputStream(
+		    new BufferedOutputStream(new FileOutputStream(file)))) {
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			out.writeInt(n);
+			for ( Vertex v : vertices ) {
+
+				byte[] code = v.getObject().toString().getBytes(StandardCharsets.UTF_8);
+				out.writeInt(code.length);
+				out.write(code);
+
+			}
+
+			out.writeInt(legs);
+			for ( int offset : offsets ) {
+
+				out.writeInt(offset);
+
+			}
+			for ( int i = 0 ; i < legs ; i++ ) {
+
+				out.writeInt(targets[i]);
+
+			}
+			for ( int i = 0 ; i < legs ; i++ ) {
+
+				out.writeDouble(distances[i]);
+
+			}
+
+			out.writeDouble(limit.minutes);
+			out.writeDouble(limit.penaltyPerMinute);
+			out.writeInt(controls.size());
+			for ( TimeO.Control control : controls ) {
+
+				out.writeInt(graph.index(codeToVertex.get(control.code)));
+				out.writeInt(control.points);
+				out.writeDouble(control.openTime);
+				out.writeDouble(control.closeTime);
+
+			}
+
+			if ( pace > 0 ) {
+
+				// One shortest-path tree from the start and from each control
+				ShortestPaths paths = ShortestPaths.compute(graph,pace,0);
+				List<Integer> sources = sources(graph,codeToVertex,controls);
+				out.writeDouble(pace);
+				out.writeInt(sources.size());
+				for ( int source : sources ) {
+
+					ShortestPaths.Tree tree = paths.tree(source);
+					out.writeInt(source);
+					for ( double d : tree.dist ) {
+
+						out.writeDouble(d);
+
+					}
+					for ( int pred : tree.pred ) {
+
+						out.writeInt(pred);
+
+					}
+				}
+
+			} else {
+
+				out.writeDouble(Double.NaN);
+
+			}
+		}
+	}
+
+	// Returns the index of the start and of each control, each once
+	private static List<Integer> sources ( WeightedGraph graph,
+	                                       Map<String,Vertex> codeToVertex,
+	                                       List<TimeO.Control> controls ) {
+
+		Set<Integer> sources = new LinkedHashSet<>();
+		sources.add(graph.index(codeToVertex.get("start")));
+		for ( TimeO.Control control : controls ) {
+
+			sources.add(graph.index(codeToVertex.get(control.code)));
+
+		}
+
+		return new ArrayList<>(sources);
+	}
+
+	// Reads a binary file for a run at the given pace, with times in minutes
+	// or, if ticksPerMinute is positive, in whole ticks
+	static TimeO.Problem read ( String file, double pace, int ticksPerMinute )
+	    throws IOException {
+
+		ByteBuffer in;
+		try (FileChannel channel = FileChannel.open(Paths.get(file),
+		                                            StandardOpenOption.READ)) {
+
+			if ( channel.size() > Integer.MAX_VALUE )
+			  throw new IllegalArgumentException(file + ": file is too large");
+			in = channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());
+
+		}
+
+		try {
+
+			if ( in.getInt() != MAGIC )
+			  throw new IllegalArgumentException(file + ": not a binary map file");
+			int version = in.getInt();
+			if ( version != VERSION )
+			  throw new IllegalArgumentException(file + ": unsupported version "
+			      + version);
+
+			// Vertices, in the order of the graph the file was written from, and
+			// the legs with their raw distances, bulk-loaded as they are stored
+			TimeO.Problem contents = new TimeO.Problem();
+			CsrGraph.Builder builder = new CsrGraph.Builder();
+			int n = in.getInt();
+			String[] codes = new String[n];
+			for ( int i = 0 ; i < n ; i++ ) {
+
+				byte[] code = new byte[in.getInt()];
+				in.get(code);
+				codes[i] = new String(code,StandardCharsets.UTF_8);
+				builder.addVertex(codes[i]);
+
+			}
+
+			int legs = in.getInt();
+			int[] offsets = ints(in,n + 1);
+			int[] targets = ints(in,legs);
+			double[] distances = doubles(in,legs);
+			for ( int u = 0 ; u < n ; u++ ) {
+
+				for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+
+					builder.addEdge(u,targets[i],distances[i]);
+
+				}
+			}
+
+			CsrGraph graph = builder.build();
+			contents.codeToVertex = new HashMap<>();
+			for ( Vertex v : graph.vertices() ) {
+
+				contents.codeToVertex.put(v.getObject().toString(),v);
+
+			}
+			contents.paths = ShortestPaths.compute(graph,pace,ticksPerMinute);
+
+			contents.limit = new TimeO.TimeLimit();
+			contents.limit.minutes = in.getDouble();
+			contents.limit.penaltyPerMinute = in.getDouble();
+			int count = in.getInt();
+			contents.controls = new ArrayList<>(count);
+			for ( int i = 0 ; i < count ; i++ ) {
+
+				String code = codes[in.getInt()];
+				int points = in.getInt();
+				double openTime = in.getDouble();
+				double closeTime = in.getDouble();
+				contents.controls.add(new TimeO.Control(code,points,openTime,closeTime));
+
+			}
+
+			// Trees stored for this exact pace are restored as they are; their
+			// times are in minutes, so a run in ticks computes its own
+			double storedPace = in.getDouble();
+			if ( storedPace == pace && ticksPerMinute == 0 ) {
+
+				int trees = in.getInt();
+				for ( int i = 0 ; i < trees ; i++ ) {
+
+					int source = in.getInt();
+					double[] dist = doubles(in,n);
+					int[] pred = ints(in,n);
+					contents.paths.restore(source,new ShortestPaths.Tree(dist,pred));
+
+				}
+			}
+
+			return contents;
+
+		} catch ( BufferUnderflowException | IndexOutOfBoundsException
+		          | NegativeArraySizeException e ) {
+
+			throw new IllegalArgumentException(file + ": file is truncated or corrupt");
+
+		}
+	}
+
+	// Reads an array of ints in bulk
+	private static int[] ints ( ByteBuffer in, int length ) {
+
+		if ( length < 0 || (long) length * Integer.BYTES > in.remaining() )
+		  throw new BufferUnderflowException();
+
+		int[] values = new int[length];
+		in.asIntBuffer().get(values);
+		in.position(in.position() + length * Integer.BYTES);
+		return values;
+
+	}
+
+	// Reads an array of doubles in bulk
+	private static double[] doubles ( ByteBuffer in, int length ) {
+
+		if ( length < 0 || (long) length * Double.BYTES > in.remaining() )
+		  throw new BufferUnderflowException();
+
+		double[] values = new double[length];
+		in.asDoubleBuffer().get(values);
+		in.position(in.position() + length * Double.BYTES);
+		return values;
+
+	}
+}
@@ -0,0 +1,581 @@
+package timeo;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Depth-first branch-and-bound search over a Course. The visited set is a
+ * long bitmask of control ids (a long[] when the course has more than 64 ids)
+ * and the current path is kept in preallocated primitive stacks, so a solve
+ * allocates nothing except when a new best solution is recorded.
+ *
+ * The course data is immutable and shared; all mutable search state lives in
+ * a Worker, so several workers can search disjoint subtrees concurrently
+ * against one shared Incumbent and, optionally, one TranspositionTable.
+ */
+class BranchAndBound {
+
+	final Course course;
+	final SolverView view;
+	private final int[] points;
+	private final double[] openTime;
+	private final double[] closeTime;
+	private final double latestCloseTime;
+	private final int totalPoints;
+
+	// Bound used to prune children, order children are tried in, and cache of
+	// explored states (null if none)
+	private UpperBound bound;
+	private ChildOrder order;
+	private TranspositionTable table;
+
+	// Counters of the search, null if it is not instrumented
+	private SearchStats stats;
+
+	// Stream the improved solutions are published to, null for none
+	private SolutionStream stream;
+
+	// The k best distinct routes, null to keep only the best one
+	private TopRoutes top;
+
+	// Nodes expanded and nodes cut by the table in finished workers
+	private final LongAdder nodes = new LongAdder();
+	private final LongAdder cutoffs = new LongAdder();
+
+	BranchAndBound ( Course course ) {
+
+		this.course = course;
+		this.view = course.view;
+		this.points = course.points;
+		this.openTime = course.openTime;
+		this.closeTime = course.closeTime;
+		this.latestCloseTime = course.latestCloseTime;
+		this.totalPoints = course.totalPoints;
+		this.bound = new SumBound(course);
+		this.order = ChildOrder.forName("course",course);
+
+	}
+
+	// Sets the bound used to prune the search
+	void setBound ( UpperBound bound ) {
+
+		this.bound = bound;
+
+	}
+
+	// Sets the order the search tries the children of a node in
+	void setOrder ( ChildOrder order ) {
+
+		this.order = order;
+
+	}
+
+	// Sets the cache of explored states, null for none; it is only used when
+	// the visited set fits in a long
+	void setTable ( TranspositionTable table ) {
+
+		this.table = table;
+
+	}
+
+	// Sets the counters the workers add their nodes, prunes and improvements
+	// to, null to count only the nodes expanded and cut
+	void setStats ( SearchStats stats ) {
+
+		this.stats = stats;
+
+	}
+
+	// Returns the counters of the search, or null if it is not instrumented
+	SearchStats stats () {
+
+		return stats;
+
+	}
+
+	// Sets the stream each solution that improves the incumbent is published
+	// to, null for none
+	void setStream ( SolutionStream stream ) {
+
+		this.stream = stream;
+
+	}
+
+	// Returns the stream improved solutions are published to, or null
+	SolutionStream stream () {
+
+		return stream;
+
+	}
+
+	// Sets the routes the search keeps the k best of, null for the best only;
+	// the incumbent then stands for the k-th best route
+	void setTopRoutes ( TopRoutes top ) {
+
+		this.top = top;
+
+	}
+
+	// Returns the routes the search keeps the k best of, or null
+	TopRoutes topRoutes () {
+
+		return top;
+
+	}
+
+	// Returns the number of search nodes expanded so far by all workers
+	long nodesExpanded () {
+
+		return nodes.sum();
+
+	}
+
+	// Returns the number of nodes cut by the transposition table
+	long tableCutoffs () {
+
+		return cutoffs.sum();
+
+	}
+
+	// Runs the search from the start and returns the best solution found
+	TimeO.Solution solve () {
+
+		return solve(new TimeO.Solution());
+
+	}
+
+	// Runs the search starting from a known solution, which the search only
+	// replaces with a route that scores at least as much; the result is the
+	// same as a cold start whenever the known score is optimal or below
+	TimeO.Solution solve ( TimeO.Solution initial ) {
+
+		Worker worker = new Worker(begin(initial),0);
+		worker.explore();
+		TimeO.Solution best = worker.best();
+		return (best != null) ? best : initial;
+
+	}
+
+	// Prepares a search starting from a known solution and returns the
+	// incumbent it prunes with. States explored by an earlier search were
+	// pruned against a different incumbent, so the table starts empty.
+	Incumbent begin ( TimeO.Solution initial ) {
+
+		if ( table != null ) table.clear();
+		if ( stats != null ) stats.begin();
+		Incumbent incumbent = (initial.totalScore > 0)
+		    ? new Incumbent(initial.totalScore) : new Incumbent();
+		if ( top != null ) top.begin(incumbent);
+		return incumbent;
+
+	}
+
+	// Returns the penalty for finishing at the specified time
+	private int penalty ( double finishTime ) {
+
+		return course.penalty(finishTime);
+
+	}
+
+	/**
+	 * The mutable state of one depth-first search: the visited set, the path
+	 * from the start, and the best solution this worker has recorded. Every
+	 * solution the worker finds is tagged with its rank.
+	 */
+	class Worker {
+
+		private final Incumbent incumbent;
+		private int rank;
+
+		// Visited ids, in mask when they fit in 64 bits and in words otherwise
+		private long mask;
+		private final long[] words;
+
+		// Current path as parallel stacks of control id, visit time and points
+		private final int[] pathIds;
+		private final double[] pathTimes;
+		private final int[] pathPoints;
+		private int depth;
+
+		// Score of the path and sum of the points of controls not yet on it
+		private int pathScore;
+		private int remainingPoints;
+
+		// Children of the node at each depth, in the order they are tried, with
+		// their upper bounds, at [depth * order.width + k]
+		private final int[] childIds;
+		private final int[] childBounds;
+
+		// Nodes expanded and nodes cut by the table in this worker, and
+		// branches it pruned by bound, after the latest close time and by time
+		// window
+		private long expanded;
+		private long cut;
+		private long boundPrunes;
+		private long latePrunes;
+		private long windowPrunes;
+
+		// Nodes expanded at each depth, when the search keeps stats
+		private final long[] depthNodes;
+
+		private TimeO.Solution bestSolution;
+		private int bestRank;
+
+		Worker ( Incumbent incumbent, int rank ) {
+
+			this.incumbent = incumbent;
+			this.rank = rank;
+
+			int size = view.size;
+			words = (size > Long.SIZE)
+			    ? new long[(size + Long.SIZE - 1) / Long.SIZE] : null;
+			pathIds = new int[size];
+			pathTimes = new double[size];
+			pathPoints = new int[size];
+			childIds = new int[size * order.width];
+			childBounds = new int[size * order.width];
+			remainingPoints = totalPoints;
+			depthNodes = (stats != null) ? new long[stats.depths()] : null;
+
+		}
+
+		// Sets the rank given to solutions found from now on
+		void setRank ( int rank ) {
+
+			this.rank = rank;
+
+		}
+
+		// Returns the id at the end of the path
+		int currentId () {
+
+			return (depth == 0) ? SolverView.START : pathIds[depth - 1];
+
+		}
+
+		// Returns the time at the end of the path
+		double currentTime () {
+
+			return (depth == 0) ? 0.0 : pathTimes[depth - 1];
+
+		}
+
+		boolean isVisited ( int id ) {
+
+			if ( words == null ) return (mask & (1L << id)) != 0;
+			else return (words[id >>> 6] & (1L << id)) != 0;
+
+		}
+
+		// Extends the path to a control; returns false if there is no leg to it
+		boolean enter ( int id ) {
+
+			double travelTime = view.time(currentId(),id);
+			if ( travelTime == Double.POSITIVE_INFINITY ) return false;
+
+			double visitTime = Math.max(currentTime() + travelTime,openTime[id]);
+			int gained = (visitTime <= closeTime[id]) ? points[id] : 0;
+			push(id,visitTime,gained);
+			pathScore += gained;
+			return true;
+
+		}
+
+		// Removes the last control from the path
+		void leave () {
+
+			int id = pathIds[depth - 1];
+			pathScore -= pathPoints[depth - 1];
+			pop(id);
+
+		}
+
+		// Considers the end of the path and searches everything beyond it
+		void explore () {
+
+			expanded = 0;
+			cut = 0;
+			boundPrunes = 0;
+			latePrunes = 0;
+			windowPrunes = 0;
+			if ( depthNodes != null ) Arrays.fill(depthNodes,0);
+			search(currentId(),currentTime(),pathScore);
+			report();
+
+		}
+
+		// Expands the end of the path as the search would, counting it;
+		// returns false if it is cut by the table or too late to score more
+		boolean expand () {
+
+			return expand(currentId(),currentTime(),pathScore);
+
+		}
+
+		// Adds this worker's counts to the search once it has finished
+		void report () {
+
+			nodes.add(expanded);
+			cutoffs.add(cut);
+			if ( stats != null ) {
+
+				stats.add(depthNodes,cut,boundPrunes,latePrunes,windowPrunes);
+
+			}
+		}
+
+		// Lists the children of the end of the path that can beat the incumbent,
+		// in the order the search tries them; returns how many there are
+		int children () {
+
+			return children(currentId(),currentTime(),pathScore);
+
+		}
+
+		// Returns the k-th child listed by the last call to children()
+		int child ( int k ) {
+
+			return childIds[depth * order.width + k];
+
+		}
+
+		// Returns the first of the count children listed for the end of the
+		// path, from the k-th on, that can still beat the incumbent, which may
+		// have improved since they were listed, or count if none can; the
+		// children skipped are counted as pruned by bound
+		int next ( int k, int count ) {
+
+			int base = depth * order.width;
+			for ( ; k < count ; k++ ) {
+
+				if ( incumbent.beats(childBounds[base + k],rank) ) return k;
+
+				// Every later child has a bound no higher
+				if ( order.byBound ) {
+
+					boundPrunes += count - k;
+					return count;
+
+				}
+				boundPrunes++;
+
+			}
+
+			return count;
+		}
+
+		// Returns the sum of the points of the controls not on the path
+		int remainingPoints () {
+
+			return remainingPoints;
+
+		}
+
+		// Returns the best solution this worker recorded, or null if none
+		TimeO.Solution best () {
+
+			return bestSolution;
+
+		}
+
+		// Returns the rank the best solution was found at
+		int bestRank () {
+
+			return bestRank;
+
+		}
+
+		// Check if we can improve the best solution by returning to start
+		private void finish ( int currentId, double currentTime,
+		                      int currentScore ) {
+
+			double returnTime = currentTime + view.time(currentId,SolverView.START);
+			if ( returnTime < Double.POSITIVE_INFINITY ) {
+
+				int penalty = penalty(returnTime);
+				int totalScore = currentScore - penalty;
+				if ( incumbent.beats(totalScore,rank) ) {
+
+					// The route becomes this worker's best only once it is kept:
+					// another worker may have raised the incumbent meanwhile, and
+					// the top routes may reject it as too close to a better one
+					TimeO.Solution solution =
+					    course.solution(pathIds,pathTimes,pathPoints,depth,returnTime);
+					if ( top != null ) {
+
+						long[] visited = TopRoutes.visited(solution,view.size);
+						if ( top.offer(solution,visited,rank) ) improved(solution,totalScore);
+
+					} else if ( incumbent.offer(totalScore,rank) ) {
+
+						improved(solution,totalScore);
+
+					}
+				}
+			}
+		}
+
+		// Recursively explore all possible paths, updating the best solution
+		private void search ( int currentId, double currentTime,
+		                      int currentScore ) {
+
+			if ( !expand(currentId,currentTime,currentScore) ) return;
+
+			// Try visiting each control, in order, skipping any branch that can
+			// no longer beat the best score
+			int count = children(currentId,currentTime,currentScore);
+			int base = depth * order.width;
+			for ( int k = next(0,count) ; k < count ; k = next(k + 1,count) ) {
+
+				int nextId = childIds[base + k];
+
+				// Wait until open time if arriving early
+				double visitTime = Math.max(currentTime + view.time(currentId,nextId),
+				                            openTime[nextId]);
+
+				// Every listed child is visited within its time window
+				int gained = points[nextId];
+
+				// Add control to path
+				push(nextId,visitTime,gained);
+
+				search(nextId,visitTime,currentScore + gained);
+
+				// Backtrack
+				pop(nextId);
+			}
+		}
+
+		// Counts a node and considers returning to the start from it; returns
+		// false if its children need not be searched
+		private boolean expand ( int currentId, double currentTime,
+		                         int currentScore ) {
+
+			// Cut the node if an explored state reached this set and control
+			// no later with at least this score
+			if ( table != null && words == null && depth > 0
+			    && table.seen(mask,currentId,currentTime,currentScore,rank) ) {
+
+				cut++;
+				return false;
+
+			}
+
+			expanded++;
+			if ( depthNodes != null ) depthNodes[depth]++;
+			finish(currentId,currentTime,currentScore);
+
+			// Prune if no more points can be gained
+			if ( currentTime > latestCloseTime ) {
+
+				latePrunes++;
+				return false;
+
+			}
+
+			return true;
+		}
+
+		// Lists the children of a node that can beat the incumbent, with their
+		// upper bounds, in this worker's buffers for the current depth
+		private int children ( int currentId, double currentTime,
+		                       int currentScore ) {
+
+			int base = depth * order.width;
+			int row = currentId * order.width;
+			int count = 0;
+
+			// Only successors that could score are listed, and a visit that
+			// scores nothing on this path is never worth branching into
+			for ( int k = 0 ; k < order.counts[currentId] ; k++ ) {
+
+				int nextId = order.rows[row + k];
+				if ( isVisited(nextId) ) continue;
+
+				double arrivalTime = currentTime + view.time(currentId,nextId);
+				double visitTime = Math.max(arrivalTime,openTime[nextId]);
+				// With ticks both sides are exact integers (see SolverView), so
+				// every engine and thread agrees on this test
+				if ( visitTime > closeTime[nextId] ) {
+
+					windowPrunes++;
+					continue;
+
+				}
+				int gained = points[nextId];
+
+				int maxPossibleScore = bound.bound(this,nextId,arrivalTime,visitTime,
+				                                   currentScore + gained);
+				if ( !incumbent.beats(maxPossibleScore,rank) ) {
+
+					boundPrunes++;
+					continue;
+
+				}
+
+				// Insert by decreasing bound for the bound order, keeping the
+				// course order among equal bounds
+				int i = count++;
+				if ( order.byBound ) {
+
+					while ( i > 0 && childBounds[base + i - 1] < maxPossibleScore ) {
+
+						childIds[base + i] = childIds[base + i - 1];
+						childBounds[base + i] = childBounds[base + i - 1];
+						i--;
+
+					}
+				}
+				childIds[base + i] = nextId;
+				childBounds[base + i] = maxPossibleScore;
+
+			}
+
+			return count;
+		}
+
+		private void push ( int id, double time, int gained ) {
+
+			if ( words == null ) mask |= 1L << id;
+			else words[id >>> 6] |= 1L << id;
+
+			pathIds[depth] = id;
+			pathTimes[depth] = time;
+			pathPoints[depth] = gained;
+			depth++;
+			remainingPoints -= points[id];
+
+		}
+
+		private void pop ( int id ) {
+
+			if ( words == null ) mask &= ~(1L << id);
+			else words[id >>> 6] &= ~(1L << id);
+
+			depth--;
+			remainingPoints += points[id];
+
+		}
+
+		// Records an improved solution as this worker's best and marks it for
+		// the flight recorder, the stats and the stream; a disabled event is
+		// dropped without being written
+		private void improved ( TimeO.Solution solution, int score ) {
+
+			bestSolution = solution;
+			bestRank = rank;
+
+			IncumbentEvent event = new IncumbentEvent();
+			if ( event.shouldCommit() ) {
+
+				event.score = score;
+				event.depth = depth;
+				event.rank = rank;
+				event.commit();
+
+			}
+			if ( stats != null ) stats.improved(score,depth);
+			if ( stream != null ) stream.improved(bestSolution);
+
+		}
+	}
+}
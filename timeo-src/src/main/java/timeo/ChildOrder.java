@@ -0,0 +1,103 @@
+package timeo;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The order in which the search tries the children of a node. The static
+ * orders are precomputed once per course as one row per control of the
+ * successors that can still score after it, so the search only walks an
+ * array. The bound order depends on the path and is sorted by each worker
+ * into preallocated per-depth buffers.
+ *
+ * The order never changes the best score, but when several routes tie for it
+ * the search keeps the first one it finds, so the printed route may differ.
+ */
+class ChildOrder {
+
+	// Room for candidates in a row (every control but the start)
+	final int width;
+	// Candidates after id u, best first, at rows[u * width + k] for
+	// k < counts[u]
+	final int[] rows;
+	final int[] counts;
+	// Sort the candidates of each node by decreasing upper bound
+	final boolean byBound;
+
+	private ChildOrder ( int width, int[] rows, int[] counts, boolean byBound ) {
+
+		this.width = width;
+		this.rows = rows;
+		this.counts = counts;
+		this.byBound = byBound;
+
+	}
+
+	// Returns the order with the given name: course (file order), nearest
+	// (shortest leg first), deadline (earliest close time first), ratio (most
+	// points per minute of travel first) or bound (highest upper bound first)
+	static ChildOrder forName ( String name, Course course ) {
+
+		SolverView view = course.view;
+		switch ( name ) {
+
+			case "course":
+				return build(course,u -> Comparator.comparingInt(c -> 0),false);
+
+			case "nearest":
+				return build(course,u -> Comparator.comparingDouble(c -> view.time(u,c)),
+				             false);
+
+			case "deadline":
+				return build(course,u -> Comparator.comparingDouble(c -> course.closeTime[c]),
+				             false);
+
+			case "ratio":
+				return build(course,u -> Comparator.comparingDouble(
+				                 c -> -course.points[c] / Math.max(view.time(u,c),1e-9)),
+				             false);
+
+			case "bound":
+				return build(course,u -> Comparator.comparingInt(c -> 0),true);
+
+			default:
+				throw new IllegalArgumentException("Unknown order " + name);
+
+		}
+	}
+
+	// A comparator of candidate ids for the row of id u
+	private interface RowOrder {
+
+		Comparator<Integer> after ( int u );
+
+	}
+
+	// Sorts the successors of every control, keeping course order among equals
+	private static ChildOrder build ( Course course, RowOrder order,
+	                                  boolean byBound ) {
+
+		int size = course.view.size;
+		int width = size - 1;
+		int[] rows = new int[size * width];
+		int[] counts = course.successorCount.clone();
+
+		for ( int u = 0 ; u < size ; u++ ) {
+
+			Integer[] ids = new Integer[counts[u]];
+			for ( int k = 0 ; k < counts[u] ; k++ ) {
+
+				ids[k] = course.successors[u * width + k];
+
+			}
+			Arrays.sort(ids,order.after(u));
+
+			for ( int k = 0 ; k < counts[u] ; k++ ) {
+
+				rows[u * width + k] = ids[k];
+
+			}
+		}
+
+		return new ChildOrder(width,rows,counts,byBound);
+	}
+}
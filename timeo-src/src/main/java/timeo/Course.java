@@ -0,0 +1,212 @@
+package timeo;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A course compiled against a SolverView: the points and time window of each
+ * control id plus the time limit and penalty, in primitive arrays shared by
+ * every solver engine.
+ *
+ * The course also knows which controls can ever score. A control is visited
+ * no earlier than its earliest visit time (the shortest time from the start,
+ * or its open time), so an arc u -> v can only score v if v is still open
+ * when reached from u at that time. Since the travel times are metric-closed,
+ * a visit that scores nothing never helps a route, and the solvers only
+ * extend a route along the successors listed here.
+ *
+ * Times are in the unit of the view: minutes, or whole ticks when the view
+ * uses ticks, in which case the penalty is computed in integer arithmetic.
+ * Solutions are always reported in minutes.
+ */
+class Course {
+
+	final SolverView view;
+	final int[] points;
+	// In ticks these hold whole numbers, which a double keeps exact up to
+	// 2^53, so comparing them with sums of view times is integer comparison
+	final double[] openTime;
+	final double[] closeTime;
+	final double timeLimit;
+	final double penaltyPerMinute;
+	final double latestCloseTime;
+	final int totalPoints;
+
+	// Earliest and latest time each control can be visited and still score
+	final double[] earliestVisit;
+	final double[] latestVisit;
+	// Controls that can score right after id u, in course order, at
+	// successors[u * numControls() + k] for k < successorCount[u]
+	final int[] successors;
+	final int[] successorCount;
+
+	Course ( SolverView view, List<TimeO.Control> controls, double timeLimit,
+	         double penaltyPerMinute ) {
+
+		this.view = view;
+		this.timeLimit = view.fromMinutes(timeLimit);
+		this.penaltyPerMinute = penaltyPerMinute;
+
+		int size = view.size;
+		points = new int[size];
+		openTime = new double[size];
+		closeTime = new double[size];
+
+		double latest = 0.0;
+		int total = 0;
+		for ( int i = 0 ; i < controls.size() ; i++ ) {
+
+			TimeO.Control control = controls.get(i);
+			points[i + 1] = control.points;
+			openTime[i + 1] = view.fromMinutes(control.openTime);
+			closeTime[i + 1] = view.fromMinutes(control.closeTime);
+			latest = Math.max(latest,closeTime[i + 1]);
+			total += control.points;
+
+		}
+		latestCloseTime = latest;
+		totalPoints = total;
+
+		// The start is left at time 0; a control can never score if it closes
+		// before the fastest route from the start reaches it
+		earliestVisit = new double[size];
+		latestVisit = new double[size];
+		for ( int c = 1 ; c < size ; c++ ) {
+
+			earliestVisit[c] = Math.max(view.time(SolverView.START,c),openTime[c]);
+			latestVisit[c] = closeTime[c];
+
+		}
+
+		int width = size - 1;
+		successors = new int[size * width];
+		successorCount = new int[size];
+		for ( int u = 0 ; u < size ; u++ ) {
+
+			if ( u != SolverView.START && earliestVisit[u] > latestVisit[u] ) continue;
+
+			for ( int v = 1 ; v < size ; v++ ) {
+
+				if ( canScore(u,v) ) successors[u * width + successorCount[u]++] = v;
+
+			}
+		}
+
+	}
+
+	// Can a route score v right after visiting u at u's earliest visit time?
+	private boolean canScore ( int u, int v ) {
+
+		if ( u == v || points[v] <= 0 ) return false;
+
+		double travelTime = view.time(u,v);
+		if ( travelTime == Double.POSITIVE_INFINITY ) return false;
+
+		return Math.max(earliestVisit[u] + travelTime,openTime[v]) <= latestVisit[v];
+	}
+
+	// Returns the number of arcs between ids that can score their target
+	int feasibleArcs () {
+
+		int arcs = 0;
+		for ( int u = 0 ; u < view.size ; u++ ) {
+
+			arcs += successorCount[u];
+
+		}
+
+		return arcs;
+	}
+
+	// Returns the number of controls on the course
+	int numControls () {
+
+		return view.size - 1;
+
+	}
+
+	// Builds a solution from the first length ids of a route with their visit
+	// times and points gained, returning to the start at returnTime; the
+	// solution's times are in minutes
+	TimeO.Solution solution ( int[] ids, double[] times, int[] gained,
+	                          int length, double returnTime ) {
+
+		List<TimeO.Visit> visits = new ArrayList<>(length + 1);
+		int rawScore = 0;
+		for ( int i = 0 ; i < length ; i++ ) {
+
+			visits.add(new TimeO.Visit(view.codes[ids[i]],ids[i],
+			                           view.toMinutes(times[i]),gained[i]));
+			rawScore += gained[i];
+
+		}
+		visits.add(new TimeO.Visit("start",0,view.toMinutes(returnTime),0));
+
+		TimeO.Solution solution = new TimeO.Solution();
+		solution.visits = visits;
+		solution.totalTime = view.toMinutes(returnTime);
+		solution.rawScore = rawScore;
+		solution.penalty = penalty(returnTime);
+		solution.totalScore = rawScore - solution.penalty;
+		return solution;
+	}
+
+	// Follows a route of control ids from the start and back, waiting for each
+	// control to open and scoring it only if it is still open, and returns
+	// the resulting solution
+	TimeO.Solution route ( int[] ids, int length ) {
+
+		double[] times = new double[length];
+		int[] gained = new int[length];
+		int current = SolverView.START;
+		double time = 0.0;
+
+		for ( int i = 0 ; i < length ; i++ ) {
+
+			int c = ids[i];
+			time = Math.max(time + view.time(current,c),openTime[c]);
+			times[i] = time;
+			// Exact in ticks: the same sum the search compared, to the tick
+			gained[i] = (time <= closeTime[c]) ? points[c] : 0;
+			current = c;
+
+		}
+
+		return solution(ids,times,gained,length,
+		                time + view.time(current,SolverView.START));
+	}
+
+	// Returns the id of the control with the given code, or -1 if it is not
+	// on the course
+	int idOf ( String code ) {
+
+		for ( int id = 1 ; id < view.size ; id++ ) {
+
+			if ( view.codes[id].equals(code) ) return id;
+
+		}
+
+		return -1;
+	}
+
+	// Returns the penalty for finishing at the specified time: the penalty per
+	// minute, in whole points, for every minute started after the limit
+	int penalty ( double finishTime ) {
+
+		long minutes;
+		int ticks = view.ticksPerMinute;
+		if ( ticks == 0 ) {
+
+			minutes = (long) Math.ceil(Math.max(0,finishTime - timeLimit));
+
+		} else {
+
+			// Both times are whole ticks below 2^53, so their difference is
+			// exact and the rest is integer arithmetic
+			long late = Math.max(0,(long) (finishTime - timeLimit));
+			minutes = late / ticks + ((late % ticks != 0) ? 1 : 0);
+
+		}
+		return (int) (minutes * (long) penaltyPerMinute);
+
+	}
+}
@@ -0,0 +1,66 @@
+package timeo;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The best score found so far, shared by every search worker. Each candidate
+ * carries a rank, its position in depth-first order of the part of the tree
+ * that produced it; an equal score only beats the incumbent from an earlier
+ * rank, so a parallel search keeps the same solution a sequential one would.
+ * Score and rank are packed into a single long so that a worker can test or
+ * update both with one atomic operation.
+ */
+class Incumbent {
+
+	private final AtomicLong packed;
+
+	// Constructs an incumbent that any positive score beats
+	Incumbent () {
+
+		packed = new AtomicLong(pack(0,0));
+
+	}
+
+	// Constructs an incumbent for a solution found outside the search tree,
+	// which an equal score from any rank beats
+	Incumbent ( int score ) {
+
+		packed = new AtomicLong(pack(score,Integer.MAX_VALUE));
+
+	}
+
+	// Packs a score and rank so that a larger value is a better solution
+	static long pack ( int score, int rank ) {
+
+		return ((long) score << 32) | (~rank & 0xFFFFFFFFL);
+
+	}
+
+	// Would a solution with this score, found at this rank, replace the incumbent?
+	boolean beats ( int score, int rank ) {
+
+		return pack(score,rank) > packed.get();
+
+	}
+
+	// Offers a solution; returns true if it became the incumbent
+	boolean offer ( int score, int rank ) {
+
+		long candidate = pack(score,rank);
+		return packed.accumulateAndGet(candidate,Math::max) == candidate;
+
+	}
+
+	// Returns the score of the incumbent
+	int score () {
+
+		return (int) (packed.get() >> 32);
+
+	}
+
+	// Returns the rank of the incumbent
+	int rank () {
+
+		return ~(int) packed.get();
+
+	}
+}
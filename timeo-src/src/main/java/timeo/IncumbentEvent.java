@@ -0,0 +1,32 @@
+package timeo;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event marking an improvement of the branch-and-bound
+ * incumbent. It is only written while a recording enables it, for example
+ * with -XX:StartFlightRecording.
+ */
+@Name("timeo.IncumbentImproved")
+@Label("Incumbent Improved")
+@Category("TimeO")
+@Description("The search found a route scoring more than any before it")
+@StackTrace(false)
+class IncumbentEvent extends Event {
+
+	@Label("Score")
+	int score;
+
+	@Label("Depth")
+	@Description("Controls on the new route")
+	int depth;
+
+	@Label("Rank")
+	@Description("Depth-first position of the part of the tree that found it")
+	int rank;
+
+}
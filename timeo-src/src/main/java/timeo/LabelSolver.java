@@ -0,0 +1,260 @@
+package timeo;
+import java.util.Arrays;
+
+/**
+ * Exact dynamic-programming solver for small and mid-size courses, in the
+ * style of Held-Karp. A label is a route from the start summarized by its
+ * visited set (a bitmask), last control, time and score. Labels are expanded
+ * one control at a time, and a label is dropped when another label with the
+ * same visited set and last control is no later and scores at least as much.
+ *
+ * Since the travel times are metric-closed, a visit that scores nothing never
+ * helps a route, so labels only ever extend to controls they can still score.
+ * Labels live in growable primitive arrays capped at maxLabels; solve()
+ * returns null if the cap is reached so the caller can fall back to the
+ * branch-and-bound search.
+ */
+class LabelSolver {
+
+	// Largest number of controls a visited set bitmask can hold
+	static final int MAX_CONTROLS = Long.SIZE - 1;
+
+	private final Course course;
+	private final SolverView view;
+	private final int maxLabels;
+
+	// Label storage: visited set, last control, visit time, raw score, the
+	// label it extends, the next label with the same set and last control,
+	// and whether a later label dominated it
+	private long[] masks;
+	private int[] lasts;
+	private double[] times;
+	private int[] scores;
+	private int[] parents;
+	private int[] sameKey;
+	private boolean[] dropped;
+	private int count;
+
+	// Open-addressing table from (set, last control) to the newest such label
+	// of the layer being built
+	private int[] slots;
+	private int layerLabels;
+
+	LabelSolver ( Course course, int maxLabels ) {
+
+		if ( course.numControls() > MAX_CONTROLS )
+		  throw new IllegalArgumentException("Too many controls for the label solver");
+
+		this.course = course;
+		this.view = course.view;
+		this.maxLabels = maxLabels;
+
+	}
+
+	// Returns the number of labels created by the last solve
+	int labelsCreated () {
+
+		return count;
+
+	}
+
+	// Runs the dynamic program; returns the best solution, or null if the
+	// labels did not fit in maxLabels
+	TimeO.Solution solve () {
+
+		int capacity = Math.min(1024,maxLabels);
+		masks = new long[capacity];
+		lasts = new int[capacity];
+		times = new double[capacity];
+		scores = new int[capacity];
+		parents = new int[capacity];
+		sameKey = new int[capacity];
+		dropped = new boolean[capacity];
+		count = 0;
+		slots = new int[1024];
+
+		// The empty route at the start
+		add(0L,SolverView.START,0.0,0,-1);
+
+		int bestLabel = -1;
+		int bestScore = 0;
+		double bestReturn = 0.0;
+
+		int layerStart = 0;
+		int layerEnd = count;
+		while ( layerStart < layerEnd ) {
+
+			Arrays.fill(slots,-1);
+			layerLabels = 0;
+
+			for ( int l = layerStart ; l < layerEnd ; l++ ) {
+
+				if ( dropped[l] ) continue;
+				int last = lasts[l];
+
+				// Check if returning to the start beats the best solution
+				double returnTime = times[l] + view.time(last,SolverView.START);
+				if ( returnTime < Double.POSITIVE_INFINITY ) {
+
+					int totalScore = scores[l] - course.penalty(returnTime);
+					if ( totalScore > bestScore ) {
+
+						bestLabel = l;
+						bestScore = totalScore;
+						bestReturn = returnTime;
+
+					}
+				}
+
+				if ( times[l] > course.latestCloseTime ) continue;
+
+				// Extend the route to every successor it can still score
+				int row = last * course.numControls();
+				for ( int k = 0 ; k < course.successorCount[last] ; k++ ) {
+
+					int c = course.successors[row + k];
+					if ( (masks[l] & (1L << c)) != 0 ) continue;
+
+					double visitTime = Math.max(times[l] + view.time(last,c),
+					                            course.openTime[c]);
+					if ( visitTime > course.closeTime[c] ) continue;
+
+					if ( !insert(masks[l] | (1L << c),c,visitTime,
+					             scores[l] + course.points[c],l) ) {
+
+						return null;
+
+					}
+				}
+			}
+
+			layerStart = layerEnd;
+			layerEnd = count;
+		}
+
+		return (bestLabel >= 0) ? reconstruct(bestLabel,bestReturn)
+		    : new TimeO.Solution();
+	}
+
+	// Adds a label unless a label with the same set and last control dominates
+	// it, dropping the labels it dominates; returns false if out of room
+	private boolean insert ( long mask, int last, double time, int score,
+	                         int parent ) {
+
+		int slot = find(mask,last);
+		for ( int i = slots[slot] ; i >= 0 ; i = sameKey[i] ) {
+
+			// Tick times compare exactly, so equal times dominate as they do
+			// in the search's transposition table
+			if ( !dropped[i] && times[i] <= time && scores[i] >= score ) {
+
+				return true;
+
+			}
+		}
+
+		for ( int i = slots[slot] ; i >= 0 ; i = sameKey[i] ) {
+
+			if ( !dropped[i] && times[i] >= time && scores[i] <= score ) {
+
+				dropped[i] = true;
+
+			}
+		}
+
+		if ( count == maxLabels ) return false;
+
+		int l = add(mask,last,time,score,parent);
+		sameKey[l] = slots[slot];
+		slots[slot] = l;
+
+		// Keep the table at most half full
+		if ( ++layerLabels * 2 > slots.length ) rehash(count - layerLabels);
+
+		return true;
+	}
+
+	// Doubles the table and reinserts the labels of the layer being built,
+	// which start at label first
+	private void rehash ( int first ) {
+
+		slots = new int[slots.length * 2];
+		Arrays.fill(slots,-1);
+
+		for ( int l = first ; l < count ; l++ ) {
+
+			int slot = find(masks[l],lasts[l]);
+			sameKey[l] = slots[slot];
+			slots[slot] = l;
+
+		}
+	}
+
+	// Builds the solution for the route ending at a label
+	private TimeO.Solution reconstruct ( int label, double returnTime ) {
+
+		int length = 0;
+		for ( int l = label ; parents[l] >= 0 ; l = parents[l] ) {
+
+			length++;
+
+		}
+
+		int[] ids = new int[length];
+		double[] visitTimes = new double[length];
+		int[] gained = new int[length];
+		for ( int l = label, i = length - 1 ; i >= 0 ; l = parents[l], i-- ) {
+
+			ids[i] = lasts[l];
+			visitTimes[i] = times[l];
+			gained[i] = scores[l] - scores[parents[l]];
+
+		}
+
+		return course.solution(ids,visitTimes,gained,length,returnTime);
+	}
+
+	// Appends a label to the storage, growing it as needed
+	private int add ( long mask, int last, double time, int score, int parent ) {
+
+		if ( count == masks.length ) {
+
+			int capacity = (int) Math.min((long) count * 2,maxLabels);
+			masks = Arrays.copyOf(masks,capacity);
+			lasts = Arrays.copyOf(lasts,capacity);
+			times = Arrays.copyOf(times,capacity);
+			scores = Arrays.copyOf(scores,capacity);
+			parents = Arrays.copyOf(parents,capacity);
+			sameKey = Arrays.copyOf(sameKey,capacity);
+			dropped = Arrays.copyOf(dropped,capacity);
+
+		}
+
+		masks[count] = mask;
+		lasts[count] = last;
+		times[count] = time;
+		scores[count] = score;
+		parents[count] = parent;
+		sameKey[count] = -1;
+		dropped[count] = false;
+		return count++;
+	}
+
+	// Returns the slot for a set and last control: the slot that holds their
+	// newest label, or the empty slot where it belongs
+	private int find ( long mask, int last ) {
+
+		long h = (mask * 0x9E3779B97F4A7C15L) ^ (last * 0xC2B2AE3D27D4EB4FL);
+		int slot = (int) (h ^ (h >>> 32)) & (slots.length - 1);
+
+		while ( slots[slot] >= 0 ) {
+
+			int l = slots[slot];
+			if ( masks[l] == mask && lasts[l] == last ) return slot;
+			slot = (slot + 1) & (slots.length - 1);
+
+		}
+
+		return slot;
+	}
+}
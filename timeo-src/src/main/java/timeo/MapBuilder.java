@@ -0,0 +1,130 @@
+package timeo;
+import graphcomponents.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the vertices and legs read from the map and course files and then
+ * builds the graph type chosen on the command line: adjacency lists (list),
+ * an adjacency matrix (matrix) or compressed sparse rows (csr). Vertices are
+ * numbered in the order they are added and legs are kept in primitive arrays
+ * until the graph is built, so the CSR graph is bulk-loaded in one pass.
+ */
+class MapBuilder {
+
+	private final String type;
+
+	// Code of each vertex and the vertex of each code
+	private final List<String> codes = new ArrayList<>();
+	private final Map<String,Integer> ids = new HashMap<>();
+
+	// Legs in the order they were added
+	private int[] from = new int[16];
+	private int[] to = new int[16];
+	private double[] times = new double[16];
+	private int legs;
+
+	// Pairs with a leg already, for graphs that hold one leg per direction
+	private final Set<Long> pairs;
+
+	MapBuilder ( String type ) {
+
+		if ( !type.matches("list|matrix|csr") )
+		  throw new IllegalArgumentException("Unknown graph " + type);
+
+		this.type = type;
+		this.pairs = type.equals("matrix") ? new HashSet<>() : null;
+
+	}
+
+	// Adds a vertex for a code and returns its id, or -1 if the code has one
+	int addVertex ( String code ) {
+
+		if ( ids.containsKey(code) ) return -1;
+
+		ids.put(code,codes.size());
+		codes.add(code);
+		return codes.size() - 1;
+
+	}
+
+	// Returns the id of the vertex for a code, or -1 if there is none
+	int idOf ( String code ) {
+
+		Integer id = ids.get(code);
+		return (id != null) ? id : -1;
+
+	}
+
+	// Adds a leg from vertex u to vertex v, checking it as the graph being
+	// built would check the edge
+	void addLeg ( int u, int v, double time ) {
+
+		if ( u == v ) throw new IllegalArgumentException("Equal vertices");
+		if ( pairs != null && !pairs.add(((long) u << 32) | v) )
+		  throw new IllegalArgumentException("Edge already exists");
+
+		if ( legs == from.length ) {
+
+			from = Arrays.copyOf(from,legs * 2);
+			to = Arrays.copyOf(to,legs * 2);
+			times = Arrays.copyOf(times,legs * 2);
+
+		}
+		from[legs] = u;
+		to[legs] = v;
+		times[legs++] = time;
+
+	}
+
+	// Builds the graph, with an edge per leg weighted by its time, and maps
+	// each code to its vertex
+	WeightedGraph build ( Map<String,Vertex> codeToVertex ) {
+
+		if ( type.equals("csr") ) {
+
+			CsrGraph.Builder builder = new CsrGraph.Builder();
+			for ( String code : codes ) {
+
+				builder.addVertex(code);
+
+			}
+			for ( int i = 0 ; i < legs ; i++ ) {
+
+				builder.addEdge(from[i],to[i],times[i]);
+
+			}
+
+			CsrGraph graph = builder.build();
+			for ( Vertex v : graph.vertices() ) {
+
+				codeToVertex.put(v.getObject().toString(),v);
+
+			}
+			return graph;
+
+		}
+
+		WeightedGraph graph = type.equals("matrix")
+		    ? new AdjacencyMatrixDirectedGraph() : new AdjacencyListDirectedGraph();
+		Vertex[] vertices = new Vertex[codes.size()];
+		for ( int i = 0 ; i < vertices.length ; i++ ) {
+
+			vertices[i] = graph.insertVertex(codes.get(i));
+			codeToVertex.put(codes.get(i),vertices[i]);
+
+		}
+		for ( int i = 0 ; i < legs ; i++ ) {
+
+			graph.insertEdge(vertices[from[i]],vertices[to[i]],times[i]);
+
+		}
+
+		return graph;
+	}
+}
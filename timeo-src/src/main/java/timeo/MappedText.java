@@ -0,0 +1,371 @@
+package timeo;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A whitespace-separated text file read straight from a memory mapping. The
+ * file is walked one line at a time and tokens are parsed from the bytes in
+ * place: numbers by a hand-rolled parser and control codes by looking their
+ * bytes up in a Codes table, so reading a line allocates nothing. Malformed
+ * input is reported as an IllegalArgumentException naming the file and line.
+ */
+class MappedText {
+
+	// Powers of ten a double holds exactly, for the fast number path
+	private static final double[] POWERS_OF_TEN = {
+	    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+	    1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	// Largest mantissa a double holds exactly
+	private static final long MAX_EXACT = 1L << 53;
+
+	private final String file;
+	private final MappedByteBuffer bytes;
+	private final int limit;
+
+	// Position of the next byte, end of the current line, start of the next
+	// line and the number of the current line
+	private int pos;
+	private int lineEnd;
+	private int next;
+	private int lineNumber;
+
+	// Bounds of the last token read
+	private int tokenStart;
+	private int tokenEnd;
+
+	MappedText ( String file ) throws IOException {
+
+		this.file = file;
+		try (FileChannel channel = FileChannel.open(Paths.get(file),
+		                                            StandardOpenOption.READ)) {
+
+			if ( channel.size() > Integer.MAX_VALUE )
+			  throw new IllegalArgumentException(file + ": file is too large");
+			bytes = channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());
+
+		}
+		limit = bytes.limit();
+
+	}
+
+	// Moves to the next line that has a token; returns false at the end of
+	// the file
+	boolean nextLine () {
+
+		while ( next < limit ) {
+
+			pos = next;
+			lineEnd = pos;
+			while ( lineEnd < limit && bytes.get(lineEnd) != '\n' ) {
+
+				lineEnd++;
+
+			}
+			next = lineEnd + 1;
+			lineNumber++;
+
+			if ( hasToken() ) return true;
+
+		}
+
+		return false;
+	}
+
+	// Returns the number of the current line
+	int lineNumber () {
+
+		return lineNumber;
+
+	}
+
+	// Is there another token on the current line?
+	boolean hasToken () {
+
+		while ( pos < lineEnd && isSpace(bytes.get(pos)) ) {
+
+			pos++;
+
+		}
+
+		return pos < lineEnd;
+	}
+
+	// Returns the next token of the current line as a string
+	String nextWord () {
+
+		token();
+		byte[] word = new byte[tokenEnd - tokenStart];
+		for ( int i = 0 ; i < word.length ; i++ ) {
+
+			word[i] = bytes.get(tokenStart + i);
+
+		}
+
+		return new String(word,StandardCharsets.UTF_8);
+	}
+
+	// Returns true if the next token of the current line is the given keyword,
+	// consuming it only then
+	boolean nextIs ( String keyword ) {
+
+		if ( !hasToken() ) return false;
+
+		int i = pos;
+		for ( int k = 0 ; k < keyword.length() ; k++, i++ ) {
+
+			if ( i >= lineEnd || bytes.get(i) != keyword.charAt(k) ) return false;
+
+		}
+		if ( i < lineEnd && !isSpace(bytes.get(i)) ) return false;
+
+		pos = i;
+		return true;
+	}
+
+	// Returns the id of the next token in a table of codes, -1 if it is not
+	// in the table
+	int nextCode ( Codes codes ) {
+
+		token();
+		return codes.find(this,tokenStart,tokenEnd);
+
+	}
+
+	// Parses the next token of the current line as an integer
+	int nextInt () {
+
+		double value = nextDouble();
+		if ( value != Math.rint(value) || Math.abs(value) > Integer.MAX_VALUE )
+		  throw error("expected an integer but found " + lastToken());
+		return (int) value;
+
+	}
+
+	// Parses the next token of the current line as a number
+	double nextDouble () {
+
+		token();
+		int i = tokenStart;
+		boolean negative = false;
+		if ( bytes.get(i) == '-' || bytes.get(i) == '+' ) {
+
+			negative = bytes.get(i) == '-';
+			i++;
+
+		}
+
+		// Decimal digits as a mantissa and a power of ten
+		long mantissa = 0;
+		int exponent = 0;
+		int digits = 0;
+		boolean exact = true;
+		boolean point = false;
+		for ( ; i < tokenEnd ; i++ ) {
+
+			byte b = bytes.get(i);
+			if ( b == '.' && !point ) {
+
+				point = true;
+				continue;
+
+			}
+			if ( b < '0' || b > '9' ) break;
+
+			digits++;
+			if ( mantissa < MAX_EXACT / 10 ) {
+
+				mantissa = mantissa * 10 + (b - '0');
+				if ( point ) exponent--;
+
+			} else {
+
+				exact = false;
+
+			}
+		}
+
+		if ( digits == 0 ) throw error("expected a number but found " + lastToken());
+
+		// Anything else (an exponent, or too many digits) takes the slow path
+		if ( i < tokenEnd || !exact || exponent < -22 ) {
+
+			try {
+
+				return Double.parseDouble(lastToken());
+
+			} catch ( NumberFormatException e ) {
+
+				throw error("expected a number but found " + lastToken());
+
+			}
+		}
+
+		// Exact when both the mantissa and the power of ten are exact
+		double value = mantissa / POWERS_OF_TEN[-exponent];
+		return negative ? -value : value;
+	}
+
+	// Fails if the current line has more tokens
+	void endLine () {
+
+		if ( hasToken() ) {
+
+			token();
+			throw error("unexpected " + lastToken());
+
+		}
+	}
+
+	// Returns an exception for malformed input at the current line
+	IllegalArgumentException error ( String message ) {
+
+		return new IllegalArgumentException(file + ":" + lineNumber + ": " + message);
+
+	}
+
+	// Returns the byte at a position of the file
+	byte byteAt ( int i ) {
+
+		return bytes.get(i);
+
+	}
+
+	// Finds the bounds of the next token of the current line
+	private void token () {
+
+		if ( !hasToken() ) throw error("line is too short");
+
+		tokenStart = pos;
+		while ( pos < lineEnd && !isSpace(bytes.get(pos)) ) {
+
+			pos++;
+
+		}
+		tokenEnd = pos;
+
+	}
+
+	// Returns the last token read as a string, for error messages
+	String lastToken () {
+
+		int end = tokenEnd;
+		pos = tokenStart;
+		String text = nextWord();
+		pos = end;
+		return text;
+
+	}
+
+	private static boolean isSpace ( byte b ) {
+
+		return b == ' ' || b == '\t' || b == '\r';
+
+	}
+
+	/**
+	 * A table of control codes by id, looked up straight from the bytes of a
+	 * MappedText with open addressing.
+	 */
+	static class Codes {
+
+		private byte[][] keys = new byte[16][];
+		private int[] ids = new int[16];
+		private int count;
+
+		// Adds a code with its id; returns false if the code is already there
+		boolean add ( String code, int id ) {
+
+			byte[] key = code.getBytes(StandardCharsets.UTF_8);
+			if ( (count + 1) * 2 > keys.length ) grow();
+
+			int slot = slot(key);
+			if ( keys[slot] != null ) return false;
+
+			keys[slot] = key;
+			ids[slot] = id;
+			count++;
+			return true;
+		}
+
+		// Returns the id of the code at bytes [start, end) of the text, -1 if
+		// it is not in the table
+		int find ( MappedText text, int start, int end ) {
+
+			int h = 0;
+			for ( int i = start ; i < end ; i++ ) {
+
+				h = 31 * h + text.byteAt(i);
+
+			}
+
+			for ( int slot = mix(h) ; keys[slot] != null ;
+			      slot = (slot + 1) & (keys.length - 1) ) {
+
+				byte[] key = keys[slot];
+				if ( key.length != end - start ) continue;
+
+				int i = 0;
+				while ( i < key.length && key[i] == text.byteAt(start + i) ) {
+
+					i++;
+
+				}
+				if ( i == key.length ) return ids[slot];
+
+			}
+
+			return -1;
+		}
+
+		// Returns the slot holding a key, or the empty slot where it belongs
+		private int slot ( byte[] key ) {
+
+			int h = 0;
+			for ( byte b : key ) {
+
+				h = 31 * h + b;
+
+			}
+
+			int slot = mix(h);
+			while ( keys[slot] != null && !Arrays.equals(keys[slot],key) ) {
+
+				slot = (slot + 1) & (keys.length - 1);
+
+			}
+
+			return slot;
+		}
+
+		private void grow () {
+
+			byte[][] oldKeys = keys;
+			int[] oldIds = ids;
+			keys = new byte[oldKeys.length * 2][];
+			ids = new int[oldIds.length * 2];
+
+			for ( int i = 0 ; i < oldKeys.length ; i++ ) {
+
+				if ( oldKeys[i] == null ) continue;
+
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				ids[slot] = oldIds[i];
+
+			}
+		}
+
+		// Spreads a hash code over the table
+		private int mix ( int h ) {
+
+			h ^= h >>> 16;
+			return (h * 0x9E3779B9) >>> 1 & (keys.length - 1);
+
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package timeo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel branch-and-bound. The top splitDepth levels of the search tree
+ * (the choice of the first controls after the start) are expanded on the
+ * calling thread and every subtree below them becomes a ForkJoinPool task.
+ * All workers prune against one shared Incumbent, and each part of the tree
+ * is ranked by its depth-first position, so ties resolve exactly as in the
+ * sequential search and both print the same results.
+ */
+class ParallelSolver {
+
+	private final BranchAndBound search;
+	private final ForkJoinPool pool;
+	private final int splitDepth;
+
+	// Next rank to hand out while splitting
+	private int nextRank;
+
+	ParallelSolver ( BranchAndBound search, ForkJoinPool pool,
+	                 int splitDepth ) {
+
+		if ( splitDepth < 1 )
+		  throw new IllegalArgumentException("Split depth must be at least 1");
+
+		this.search = search;
+		this.pool = pool;
+		this.splitDepth = splitDepth;
+
+	}
+
+	// A subtree of the search, rooted at a fixed path from the start
+	private class Subtree extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] prefix;
+		private final BranchAndBound.Worker worker;
+
+		Subtree ( Incumbent incumbent, int[] prefix, int rank ) {
+
+			this.prefix = prefix;
+			this.worker = search.new Worker(incumbent,rank);
+
+		}
+
+		@Override
+		protected void compute () {
+
+			for ( int id : prefix ) {
+
+				worker.enter(id);
+
+			}
+			worker.explore();
+
+		}
+	}
+
+	// Runs the search and returns the best solution found
+	TimeO.Solution solve () {
+
+		return solve(new TimeO.Solution());
+
+	}
+
+	// Runs the search starting from a known solution, as BranchAndBound does
+	TimeO.Solution solve ( TimeO.Solution initial ) {
+
+		Incumbent incumbent = search.begin(initial);
+		BranchAndBound.Worker planner = search.new Worker(incumbent,0);
+		List<Subtree> subtrees = new ArrayList<>();
+		int[] path = new int[splitDepth];
+
+		nextRank = 0;
+		split(incumbent,planner,path,0,subtrees);
+		planner.report();
+
+		pool.invoke(new RecursiveAction() {
+
+			@Override
+			protected void compute () {
+
+				ForkJoinTask.invokeAll(subtrees);
+
+			}
+		});
+
+		// Pick the incumbent's solution from whichever worker recorded it
+		List<BranchAndBound.Worker> workers = new ArrayList<>();
+		workers.add(planner);
+		for ( Subtree subtree : subtrees ) {
+
+			workers.add(subtree.worker);
+
+		}
+
+		for ( BranchAndBound.Worker worker : workers ) {
+
+			if ( worker.best() != null && worker.bestRank() == incumbent.rank()
+			    && worker.best().totalScore == incumbent.score() ) {
+
+				return worker.best();
+
+			}
+		}
+
+		return initial;
+	}
+
+	// Expands the tree down to the split depth in depth-first order, ranking
+	// each node above the split and each subtree below it; the planner counts
+	// the nodes it expands and the branches it prunes as the sequential
+	// search would
+	private void split ( Incumbent incumbent, BranchAndBound.Worker planner,
+	                     int[] path, int depth, List<Subtree> subtrees ) {
+
+		int rank = nextRank++;
+		if ( depth == splitDepth ) {
+
+			subtrees.add(new Subtree(incumbent,path.clone(),rank));
+			return;
+
+		}
+
+		planner.setRank(rank);
+		if ( !planner.expand() ) return;
+
+		// Children in the order the sequential search tries them
+		int count = planner.children();
+		for ( int k = planner.next(0,count) ; k < count ; k = planner.next(k + 1,count) ) {
+
+			int nextId = planner.child(k);
+			if ( !planner.enter(nextId) ) continue;
+
+			path[depth] = nextId;
+			split(incumbent,planner,path,depth + 1,subtrees);
+			planner.leave();
+
+		}
+	}
+}
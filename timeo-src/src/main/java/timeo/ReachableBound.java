@@ -0,0 +1,161 @@
+package timeo;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A bound that only counts controls that can still be reached before they
+ * close, using shortest travel times from the next control. A route finishes
+ * no earlier than the next visit plus the shortest way back to the start,
+ * and no earlier than the return from any control it scores, so controls that
+ * would push the finish into a larger penalty are only counted together with
+ * that penalty.
+ *
+ * With the knapsack relaxation, every scored control also needs at least its
+ * cheapest incoming leg before the latest close time, and the points are
+ * bounded by a fractional knapsack over the remaining time.
+ */
+class ReachableBound implements UpperBound {
+
+	private final Course course;
+	private final boolean knapsack;
+	private final int size;
+	private final double[] shortest;
+	private final double[] returnTime;
+
+	// Cheapest leg into each control from any other control
+	private final double[] minLeg;
+	// Control ids by decreasing points per minute of minLeg
+	private final int[] byRatio;
+
+	ReachableBound ( Course course, boolean knapsack ) {
+
+		this.course = course;
+		this.knapsack = knapsack;
+		this.size = course.view.size;
+		this.shortest = course.view.times;
+
+		returnTime = new double[size];
+		minLeg = new double[size];
+		for ( int c = 0 ; c < size ; c++ ) {
+
+			returnTime[c] = shortest[c * size + SolverView.START];
+			minLeg[c] = Double.POSITIVE_INFINITY;
+			for ( int u = 1 ; u < size ; u++ ) {
+
+				if ( u != c ) minLeg[c] = Math.min(minLeg[c],shortest[u * size + c]);
+
+			}
+		}
+
+		Integer[] ids = new Integer[size - 1];
+		for ( int c = 1 ; c < size ; c++ ) {
+
+			ids[c - 1] = c;
+
+		}
+		Arrays.sort(ids,Comparator.comparingDouble(c -> -ratio(c)));
+		byRatio = new int[ids.length];
+		for ( int i = 0 ; i < ids.length ; i++ ) {
+
+			byRatio[i] = ids[i];
+
+		}
+	}
+
+	// Returns the points a control is worth per minute of its cheapest leg
+	private double ratio ( int c ) {
+
+		if ( minLeg[c] == 0.0 ) return Double.POSITIVE_INFINITY;
+		return course.points[c] / minLeg[c];
+
+	}
+
+	@Override
+	public int bound ( BranchAndBound.Worker path, int nextId,
+	                   double arrivalTime, double visitTime, int score ) {
+
+		// The route still has to get back to the start from nextId
+		double finish = visitTime + returnTime[nextId];
+		int basePenalty = course.penalty(finish);
+
+		// Points of controls reachable without raising the penalty, and of
+		// all reachable controls
+		int withinPoints = 0;
+		int allPoints = 0;
+		double earliestBeyond = Double.POSITIVE_INFINITY;
+
+		// Remaining knapsack capacity for each of the two sets
+		double withinCapacity = Math.max(0.0,course.latestCloseTime - visitTime);
+		double allCapacity = withinCapacity;
+		boolean withinFull = false;
+		boolean allFull = false;
+
+		int row = nextId * size;
+		for ( int i = 0 ; i < byRatio.length ; i++ ) {
+
+			int c = byRatio[i];
+			if ( c == nextId || path.isVisited(c) ) continue;
+
+			double reach = visitTime + shortest[row + c];
+			if ( reach > course.closeTime[c] ) continue;
+
+			double through =
+			    Math.max(reach,course.openTime[c]) + returnTime[c];
+			boolean within = course.penalty(through) <= basePenalty;
+			if ( !within ) earliestBeyond = Math.min(earliestBeyond,through);
+
+			int p = course.points[c];
+			if ( !knapsack ) {
+
+				if ( within ) withinPoints += p;
+				allPoints += p;
+				continue;
+
+			}
+
+			// Fractional knapsack: whole items in ratio order, then a share
+			// of the first one that no longer fits
+			if ( within && !withinFull ) {
+
+				if ( minLeg[c] <= withinCapacity ) {
+
+					withinPoints += p;
+					withinCapacity -= minLeg[c];
+
+				} else {
+
+					withinPoints += (int) Math.ceil(p * withinCapacity / minLeg[c]);
+					withinFull = true;
+
+				}
+			}
+
+			if ( !allFull ) {
+
+				if ( minLeg[c] <= allCapacity ) {
+
+					allPoints += p;
+					allCapacity -= minLeg[c];
+
+				} else {
+
+					allPoints += (int) Math.ceil(p * allCapacity / minLeg[c]);
+					allFull = true;
+
+				}
+			}
+		}
+
+		// Either the route stays within the base penalty, or it scores some
+		// control beyond it and pays at least the earliest such finish
+		int bound = score + withinPoints - basePenalty;
+		if ( earliestBeyond < Double.POSITIVE_INFINITY ) {
+
+			bound = Math.max(bound,score + allPoints
+			    - course.penalty(Math.max(finish,earliestBeyond)));
+
+		}
+
+		return bound;
+	}
+}
@@ -0,0 +1,385 @@
+package timeo;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental mode: keeps a map and course in memory while the course changes
+ * during an event. The shortest times, the solver view and the transposition
+ * table are built once; a change to a control's points or time window or to
+ * the time limit only recompiles the Course, which is quadratic in the number
+ * of controls, before the next solve.
+ *
+ * Each re-plan is a full re-solve of the amended course, warm-started from
+ * the last best route repaired to fit it: the search prunes against that
+ * score from the first node, but keeps no tree or table entries from earlier
+ * solves, whose pruning depended on the old course. When every change since
+ * the last exact solve can only lower the score of any route (a control
+ * closed or worth less, a window narrowed, a shorter limit or a higher
+ * penalty) and the repaired route still scores what the last optimum did, no
+ * route can beat it and it is kept without searching. A kept route may differ
+ * from the one a solve from scratch would print when several tie for the best
+ * score.
+ */
+class ReplanSession {
+
+	private final SolverOptions options;
+	private final SolverView view;
+	// Controls as amended, in course order, and the time limit and penalty
+	private final List<TimeO.Control> controls = new ArrayList<>();
+	private final TimeO.TimeLimit limit = new TimeO.TimeLimit();
+	// Table reused by every search, null if the course does not use one
+	private final TranspositionTable table;
+
+	// Course of the last solve
+	private Course course;
+	// Best solution of the last solve, with its controls only, and whether it
+	// was proved optimal
+	private TimeO.Solution last;
+	private boolean optimal;
+	// Have the changes since the last solve only lowered route scores?
+	private boolean tightened = true;
+
+	// Nodes expanded by the last solve, and whether it kept the repaired route
+	private long nodes;
+	private boolean kept;
+
+	ReplanSession ( TimeO.Problem problem, SolverOptions options ) {
+
+		this.options = options;
+		for ( TimeO.Control control : problem.controls ) {
+
+			controls.add(new TimeO.Control(control.code,control.points,
+			                               control.openTime,control.closeTime));
+
+		}
+		limit.minutes = problem.limit.minutes;
+		limit.penaltyPerMinute = problem.limit.penaltyPerMinute;
+
+		view = SolverView.compile(problem.paths,problem.codeToVertex,controls,
+		                          options.ticksPerMinute);
+		course = compile();
+		table = TimeO.newTable(course,options);
+
+	}
+
+	// Returns the course as amended so far
+	Course course () {
+
+		return course;
+
+	}
+
+	// Returns the view of the map the course is compiled against
+	SolverView view () {
+
+		return view;
+
+	}
+
+	// Returns the time limit and penalty as amended so far
+	TimeO.TimeLimit limit () {
+
+		return limit;
+
+	}
+
+	// Returns the nodes the last solve expanded
+	long nodesExpanded () {
+
+		return nodes;
+
+	}
+
+	// Did the last solve keep the repaired route without searching?
+	boolean keptRoute () {
+
+		return kept;
+
+	}
+
+	// Sets a route to start the next solve from, such as one saved earlier
+	void seed ( TimeO.Solution solution ) {
+
+		last = solution;
+		optimal = false;
+
+	}
+
+	// Closes a control, which scores nothing from now on
+	void close ( String code ) {
+
+		points(code,0);
+
+	}
+
+	// Changes the points of a control
+	void points ( String code, int points ) {
+
+		if ( points < 0 )
+		  throw new IllegalArgumentException("Points must not be negative");
+
+		TimeO.Control control = control(code);
+		if ( points > control.points ) tightened = false;
+		control.points = points;
+
+	}
+
+	// Changes the time window of a control, in minutes
+	void window ( String code, double openTime, double closeTime ) {
+
+		if ( !(openTime <= closeTime) )
+		  throw new IllegalArgumentException("Open time must not be after close time");
+
+		TimeO.Control control = control(code);
+		if ( openTime < control.openTime || closeTime > control.closeTime ) {
+
+			tightened = false;
+
+		}
+		control.openTime = openTime;
+		control.closeTime = closeTime;
+
+	}
+
+	// Changes the time limit, in minutes, and the penalty per minute over it
+	void timeLimit ( double minutes, double penaltyPerMinute ) {
+
+		if ( !(minutes >= 0) || !(penaltyPerMinute >= 0) )
+		  throw new IllegalArgumentException("Time limit and penalty must not be negative");
+
+		if ( minutes > limit.minutes || penaltyPerMinute < limit.penaltyPerMinute ) {
+
+			tightened = false;
+
+		}
+		limit.minutes = minutes;
+		limit.penaltyPerMinute = penaltyPerMinute;
+
+	}
+
+	// Solves the course as amended, starting from the last route repaired to
+	// fit it, and returns the best solution with its controls only
+	TimeO.Solution solve () {
+
+		course = compile();
+		TimeO.Solution initial = (last != null) ? repair(last) : new TimeO.Solution();
+
+		kept = optimal && tightened && initial.totalScore == last.totalScore;
+		if ( kept ) {
+
+			nodes = 0;
+			last = initial;
+
+		} else {
+
+			BranchAndBound search = TimeO.newSearch(course,options,table);
+			last = TimeO.findBestPath(search,options,initial);
+			nodes = search.nodesExpanded();
+			optimal = options.timeBudget == 0 || options.warmStart;
+
+		}
+
+		tightened = true;
+		return last;
+	}
+
+	// Repairs a route for the current course: drops each control that would
+	// no longer score where the route visits it, then, while the route ends
+	// late, the control whose removal raises the score the most. Since the
+	// travel times are metric-closed, dropping a control never makes a later
+	// one harder to reach.
+	TimeO.Solution repair ( TimeO.Solution solution ) {
+
+		int[] ids = new int[solution.visits.size()];
+		int length = 0;
+		int current = SolverView.START;
+		double time = 0.0;
+
+		for ( TimeO.Visit visit : solution.visits ) {
+
+			int c = visit.id;
+			if ( c <= 0 || course.points[c] == 0 ) continue;
+
+			double visitTime = Math.max(time + view.time(current,c),course.openTime[c]);
+			if ( visitTime > course.closeTime[c] ) continue;
+
+			ids[length++] = c;
+			current = c;
+			time = visitTime;
+
+		}
+
+		TimeO.Solution repaired = course.route(ids,length);
+		while ( repaired.penalty > 0 ) {
+
+			int drop = -1;
+			TimeO.Solution best = repaired;
+			int[] shorter = new int[length];
+			for ( int i = 0 ; i < length ; i++ ) {
+
+				System.arraycopy(ids,0,shorter,0,i);
+				System.arraycopy(ids,i + 1,shorter,i,length - i - 1);
+				TimeO.Solution candidate = course.route(shorter,length - 1);
+				if ( candidate.totalScore > best.totalScore ) {
+
+					best = candidate;
+					drop = i;
+
+				}
+			}
+			if ( drop < 0 ) break;
+
+			System.arraycopy(ids,drop + 1,ids,drop,length - drop - 1);
+			length--;
+			repaired = best;
+
+		}
+
+		return repaired;
+	}
+
+	// Compiles the course as amended against the view
+	private Course compile () {
+
+		return new Course(view,controls,limit.minutes,limit.penaltyPerMinute);
+
+	}
+
+	// Returns the control with the given code, the first if it is listed twice
+	private TimeO.Control control ( String code ) {
+
+		for ( TimeO.Control control : controls ) {
+
+			if ( control.code.equals(code) ) return control;
+
+		}
+		throw new IllegalArgumentException("Control " + code + " is not on the course");
+	}
+
+	// Runs "replan <map_file> <course_file> <pace> [options]" (or a binary
+	// file and pace): solves the course, then reads changes to it from
+	// standard input and re-plans after each "solve" line and at the end
+	static void main ( String[] args ) {
+
+		boolean binary = args.length > 1 && BinaryFormat.isBinary(args[1]);
+		int positional = binary ? 3 : 4;
+		if ( args.length < positional ) {
+			TimeO.printUsage();
+			return;
+		}
+
+		try {
+
+			double pace = Double.parseDouble(args[positional - 1]);
+			SolverOptions options = SolverOptions.parse(args,positional);
+			if ( options.compareCold || options.statsJson != null || options.progress
+			    || options.topK > 1 )
+			  throw new IllegalArgumentException("--compare-cold, --stats-json, "
+			      + "--progress and --top-k do not apply to a re-planning session");
+
+			int ticks = options.ticksPerMinute;
+			TimeO.Problem problem = binary ? BinaryFormat.read(args[1],pace,ticks)
+			    : TimeO.readTextFiles(args[1],args[2],pace,ticks,options.graph);
+			ReplanSession session = new ReplanSession(problem,options);
+			if ( options.initialRoute != null ) {
+				session.seed(RouteFile.read(options.initialRoute,session.course()));
+			}
+
+			session.replan(System.nanoTime());
+			session.readChanges(new BufferedReader(new InputStreamReader(System.in)));
+
+		} catch ( NumberFormatException e ) {
+			System.err.println("Error: Pace must be a number");
+		} catch ( IOException e ) {
+			System.err.println("Error reading files: " + e.getMessage());
+		} catch ( IllegalArgumentException e ) {
+			System.err.println("Error: " + e.getMessage());
+		}
+	}
+
+	// Applies the changes read from a reader, one per line, re-planning after
+	// each "solve" line and at the end if anything changed since. A line that
+	// cannot be applied is reported and skipped.
+	private void readChanges ( BufferedReader in ) throws IOException {
+
+		String line;
+		int lineNumber = 0;
+		boolean changed = false;
+
+		while ( (line = in.readLine()) != null ) {
+
+			lineNumber++;
+			String[] words = line.trim().split("\\s+");
+			if ( words[0].isEmpty() || words[0].startsWith("#") ) continue;
+
+			try {
+
+				long start = System.nanoTime();
+				switch ( words[0] + "/" + (words.length - 1) ) {
+
+					case "close/1":
+						close(words[1]);
+						break;
+
+					case "points/2":
+						points(words[1],Integer.parseInt(words[2]));
+						break;
+
+					case "window/3":
+						window(words[1],Double.parseDouble(words[2]),
+						       Double.parseDouble(words[3]));
+						break;
+
+					case "timelimit/2":
+						timeLimit(Double.parseDouble(words[1]),Double.parseDouble(words[2]));
+						break;
+
+					case "solve/0":
+						replan(start);
+						changed = false;
+						continue;
+
+					default:
+						throw new IllegalArgumentException("expected close <code>, "
+						    + "points <code> <n>, window <code> <open> <close>, "
+						    + "timelimit <minutes> <penalty> or solve");
+
+				}
+				changed = true;
+
+			} catch ( NumberFormatException e ) {
+				System.err.println("Error: line " + lineNumber + ": bad number");
+			} catch ( IllegalArgumentException e ) {
+				System.err.println("Error: line " + lineNumber + ": " + e.getMessage());
+			}
+		}
+
+		if ( changed ) replan(System.nanoTime());
+	}
+
+	// Solves the course as amended and prints the results along the real
+	// route through the map, with the time taken since start
+	private void replan ( long start ) throws IOException {
+
+		TimeO.Solution solution = solve();
+		if ( options.saveRoute != null ) RouteFile.write(options.saveRoute,solution);
+
+		TimeO.Solution printed = new TimeO.Solution();
+		printed.visits = view.expandRoute(solution.visits);
+		printed.totalTime = solution.totalTime;
+		printed.totalScore = solution.totalScore;
+		printed.rawScore = solution.rawScore;
+		printed.penalty = solution.penalty;
+		TimeO.printResults(printed,limit.minutes,limit.penaltyPerMinute);
+
+		System.out.println(String.format("\n\nRe-plan Time:\t%.1f ms (%s)",
+		    (System.nanoTime() - start) / 1e6,
+		    kept ? "repaired route still optimal" : "searched"));
+		if ( options.stats ) System.out.println("Nodes Expanded:\t" + nodes);
+		System.out.println();
+
+	}
+}
@@ -0,0 +1,93 @@
+package timeo;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads and writes routes as plain text, one control code per line in visit
+ * order, without the start. Blank lines and lines starting with # are
+ * ignored. A route read back is validated against the course it seeds: its
+ * times and points are recomputed from the time windows and time limit.
+ */
+class RouteFile {
+
+	// Reads a route for the given course; reports problems with the route on
+	// standard error and throws IllegalArgumentException if it is unusable
+	static TimeO.Solution read ( String routeFile, Course course )
+	    throws IOException {
+
+		int[] ids = new int[course.numControls()];
+		int length = 0;
+		Set<Integer> seen = new HashSet<>();
+
+		try (BufferedReader br = new BufferedReader(new FileReader(routeFile))) {
+
+			String line;
+			int lineNumber = 0;
+			while ( (line = br.readLine()) != null ) {
+
+				lineNumber++;
+				String code = line.trim();
+				if ( code.isEmpty() || code.startsWith("#") ) continue;
+
+				int id = course.idOf(code);
+				if ( id < 0 )
+				  throw new IllegalArgumentException(routeFile + ":" + lineNumber
+				      + ": control " + code + " is not on the course");
+				if ( !seen.add(id) )
+				  throw new IllegalArgumentException(routeFile + ":" + lineNumber
+				      + ": control " + code + " is visited twice");
+
+				int from = (length == 0) ? SolverView.START : ids[length - 1];
+				if ( course.view.time(from,id) == Double.POSITIVE_INFINITY )
+				  throw new IllegalArgumentException(routeFile + ":" + lineNumber
+				      + ": control " + code + " cannot be reached");
+
+				ids[length++] = id;
+
+			}
+		}
+
+		TimeO.Solution solution = course.route(ids,length);
+		if ( solution.totalTime == Double.POSITIVE_INFINITY )
+		  throw new IllegalArgumentException(routeFile
+		      + ": the route cannot get back to the start");
+
+		// Report the parts of the route the course no longer rewards
+		for ( TimeO.Visit visit : solution.visits ) {
+
+			if ( visit.id > 0 && visit.points == 0 && course.points[visit.id] > 0 ) {
+
+				System.err.println("Warning: " + routeFile + ": control "
+				    + visit.code + " is visited outside its time window");
+
+			}
+		}
+		if ( solution.penalty > 0 ) {
+
+			System.err.println("Warning: " + routeFile
+			    + ": the route exceeds the time limit");
+
+		}
+
+		return solution;
+	}
+
+	// Writes the controls of a solution (without expanded pass-through
+	// vertices or the start) to a route file
+	static void write ( String routeFile, TimeO.Solution solution )
+	    throws IOException {
+
+		try (PrintWriter out = new PrintWriter(routeFile)) {
+
+			for ( TimeO.Visit visit : solution.visits ) {
+
+				if ( visit.id > 0 ) out.println(visit.code);
+
+			}
+		}
+	}
+}
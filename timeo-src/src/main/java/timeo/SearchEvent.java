@@ -0,0 +1,30 @@
+package timeo;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning one exact branch-and-bound solve, so the
+ * incumbent improvements inside it can be read against its duration.
+ */
+@Name("timeo.Search")
+@Label("Search")
+@Category("TimeO")
+@Description("One branch-and-bound solve of a course")
+class SearchEvent extends Event {
+
+	@Label("Controls")
+	int controls;
+
+	@Label("Threads")
+	int threads;
+
+	@Label("Nodes Expanded")
+	long nodes;
+
+	@Label("Score")
+	int score;
+
+}
@@ -0,0 +1,275 @@
+package timeo;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one branch-and-bound search: nodes expanded at each depth,
+ * branches pruned by reason, and every improvement of the incumbent with the
+ * time it was found. Each worker counts into its own primitive fields and
+ * adds them here once, when it finishes its part of the tree, so a parallel
+ * search never contends on a counter while it runs. A search without stats
+ * counts nothing per depth and records no improvements. When the label DP
+ * solver solves the course instead, only its label count and time are kept.
+ */
+class SearchStats {
+
+	/**
+	 * An improvement of the incumbent: milliseconds since the search began,
+	 * the new score and the number of controls on its route.
+	 */
+	static class Improvement {
+
+		final double millis;
+		final int score;
+		final int depth;
+
+		Improvement ( double millis, int score, int depth ) {
+
+			this.millis = millis;
+			this.score = score;
+			this.depth = depth;
+
+		}
+	}
+
+	// Nodes expanded at each depth of the tree, and nodes cut by the table
+	private final AtomicLongArray depthNodes;
+	private final LongAdder cutoffs = new LongAdder();
+
+	// Branches pruned because their bound could not beat the incumbent, because
+	// the clock had passed the latest close time, or because the control would
+	// close before it was reached
+	private final LongAdder boundPrunes = new LongAdder();
+	private final LongAdder latePrunes = new LongAdder();
+	private final LongAdder windowPrunes = new LongAdder();
+
+	// Start of the search and end of its last finished worker, in nanoseconds
+	private long start;
+	private final AtomicLong end = new AtomicLong();
+
+	private final List<Improvement> improvements = new ArrayList<>();
+
+	// Labels created by the label DP solver if it solved the course instead
+	// of the search, otherwise -1
+	private long labels = -1;
+
+	// Constructs the counters of a search over a course view of this size
+	SearchStats ( int size ) {
+
+		depthNodes = new AtomicLongArray(size + 1);
+
+	}
+
+	// Returns the number of depths counted, one more than the deepest path
+	int depths () {
+
+		return depthNodes.length();
+
+	}
+
+	// Clears the counters as a new search begins
+	void begin () {
+
+		for ( int d = 0 ; d < depthNodes.length() ; d++ ) {
+
+			depthNodes.set(d,0);
+
+		}
+		cutoffs.reset();
+		boundPrunes.reset();
+		latePrunes.reset();
+		windowPrunes.reset();
+		synchronized ( improvements ) {
+
+			improvements.clear();
+
+		}
+		labels = -1;
+		start = System.nanoTime();
+		end.set(start);
+
+	}
+
+	// Records that the label DP solver, started at start in nanoseconds,
+	// solved the course with this many labels; the search counters stay empty
+	void solvedByLabels ( long labels, long start ) {
+
+		begin();
+		this.labels = labels;
+		this.start = start;
+		end.set(System.nanoTime());
+
+	}
+
+	// Returns the engine that solved the course, "label" or "branch-and-bound"
+	String engine () {
+
+		return (labels >= 0) ? "label" : "branch-and-bound";
+
+	}
+
+	// Adds the counts of a worker that finished its part of the tree
+	void add ( long[] nodes, long cut, long bound, long late, long window ) {
+
+		for ( int d = 0 ; d < nodes.length ; d++ ) {
+
+			if ( nodes[d] != 0 ) depthNodes.addAndGet(d,nodes[d]);
+
+		}
+		cutoffs.add(cut);
+		boundPrunes.add(bound);
+		latePrunes.add(late);
+		windowPrunes.add(window);
+		end.accumulateAndGet(System.nanoTime(),Math::max);
+
+	}
+
+	// Records that the incumbent improved to a route of depth controls
+	void improved ( int score, int depth ) {
+
+		Improvement improvement = new Improvement(millisSince(start),score,depth);
+		synchronized ( improvements ) {
+
+			improvements.add(improvement);
+
+		}
+	}
+
+	// Returns the improvements in the order they were found
+	List<Improvement> improvements () {
+
+		List<Improvement> list;
+		synchronized ( improvements ) {
+
+			list = new ArrayList<>(improvements);
+
+		}
+		list.sort((a,b) -> Double.compare(a.millis,b.millis));
+		return list;
+	}
+
+	// Returns the total number of nodes expanded
+	long nodesExpanded () {
+
+		long total = 0;
+		for ( int d = 0 ; d < depthNodes.length() ; d++ ) {
+
+			total += depthNodes.get(d);
+
+		}
+		return total;
+	}
+
+	// Returns the milliseconds until the first improvement, or -1 if the
+	// search never improved on its initial incumbent
+	double firstSolutionMillis () {
+
+		List<Improvement> list = improvements();
+		return list.isEmpty() ? -1 : list.get(0).millis;
+
+	}
+
+	// Returns the milliseconds from the start of the search to the end of its
+	// last worker
+	double searchMillis () {
+
+		return (end.get() - start) / 1e6;
+
+	}
+
+	private static double millisSince ( long start ) {
+
+		return (System.nanoTime() - start) / 1e6;
+
+	}
+
+	// Prints the counters, one per line, after the results
+	void print ( PrintStream out ) {
+
+		out.println("Engine:\t" + engine());
+		if ( labels >= 0 ) {
+
+			out.println("Labels Created:\t" + labels);
+			out.println(String.format("Search Time:\t%.3f ms",searchMillis()));
+			return;
+
+		}
+
+		out.println("Nodes Expanded:\t" + nodesExpanded());
+		out.println("Transposition Cutoffs:\t" + cutoffs.sum());
+		out.println("Pruned by Bound:\t" + boundPrunes.sum());
+		out.println("Pruned after Latest Close:\t" + latePrunes.sum());
+		out.println("Pruned by Time Window:\t" + windowPrunes.sum());
+		out.println(String.format("Search Time:\t%.3f ms",searchMillis()));
+
+		List<Improvement> list = improvements();
+		if ( list.isEmpty() ) out.println("First Solution:\tnone");
+		else out.println(String.format("First Solution:\t%.3f ms",list.get(0).millis));
+		out.println("Incumbent Improvements:\t" + list.size());
+		for ( Improvement improvement : list ) {
+
+			out.println(String.format("  %10.3f ms\tscore %d\tdepth %d",
+			                          improvement.millis,improvement.score,
+			                          improvement.depth));
+
+		}
+
+		out.println("Nodes by Depth:");
+		for ( int d = 0 ; d < depthNodes.length() ; d++ ) {
+
+			if ( depthNodes.get(d) != 0 ) out.println("  " + d + "\t" + depthNodes.get(d));
+
+		}
+	}
+
+	// Returns the counters as a JSON object
+	String toJson () {
+
+		StringBuilder json = new StringBuilder();
+		json.append("{\"engine\":\"").append(engine()).append('"');
+		if ( labels >= 0 ) {
+
+			return json.append(",\"labels\":").append(labels)
+			    .append(",\"searchMillis\":").append(searchMillis()).append('}').toString();
+
+		}
+
+		json.append(",\"nodesExpanded\":").append(nodesExpanded())
+		    .append(",\"tableCutoffs\":").append(cutoffs.sum())
+		    .append(",\"prunes\":{\"bound\":").append(boundPrunes.sum())
+		    .append(",\"latestClose\":").append(latePrunes.sum())
+		    .append(",\"window\":").append(windowPrunes.sum())
+		    .append("},\"searchMillis\":").append(searchMillis())
+		    .append(",\"firstSolutionMillis\":");
+
+		List<Improvement> list = improvements();
+		if ( list.isEmpty() ) json.append("null");
+		else json.append(list.get(0).millis);
+
+		json.append(",\"nodesByDepth\":[");
+		int deepest = depthNodes.length() - 1;
+		while ( deepest > 0 && depthNodes.get(deepest) == 0 ) deepest--;
+		for ( int d = 0 ; d <= deepest ; d++ ) {
+
+			if ( d > 0 ) json.append(',');
+			json.append(depthNodes.get(d));
+
+		}
+
+		json.append("],\"improvements\":[");
+		for ( int i = 0 ; i < list.size() ; i++ ) {
+
+			Improvement improvement = list.get(i);
+			if ( i > 0 ) json.append(',');
+			json.append("{\"millis\":").append(improvement.millis)
+			    .append(",\"score\":").append(improvement.score)
+			    .append(",\"depth\":").append(improvement.depth).append('}');
+
+		}
+		return json.append("]}").toString();
+	}
+}
@@ -0,0 +1,348 @@
+package timeo;
+import graphcomponents.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shortest travel times over a map from the vertices a course plans from (one
+ * Dijkstra search per source). A direct leg is not always the fastest way
+ * between two controls, so the solver plans over these metric-closed times and
+ * the route through the intermediate vertices is expanded again from the
+ * source's predecessor tree when the results are printed.
+ *
+ * A source's tree is computed the first time it is asked for and then kept, so
+ * memory grows with the sources times the vertices of the map rather than with
+ * the square of the map, and several threads may share one instance.
+ */
+class ShortestPaths {
+
+	// Improvement below which a detour counts as a tie with the route found
+	// first, so rounding in the pace-scaled times never replaces an equal leg
+	private static final double EPSILON = 1e-9;
+
+	// Number of vertices and the vertex at each index
+	final int size;
+	final Vertex[] vertices;
+	private final Map<Vertex,Integer> index;
+
+	// Legs out of vertex u at offsets[u] .. offsets[u + 1] - 1, with their times
+	private final int[] offsets;
+	private final int[] targets;
+	private final double[] legs;
+
+	// Shortest-path tree of each source asked for so far
+	private final Map<Integer,CompletableFuture<Tree>> trees = new ConcurrentHashMap<>();
+
+	// Shortest times from a source to every vertex, infinite if unreachable, and
+	// the vertex before each on its fastest route, -1 for the source and for
+	// unreachable vertices
+	static class Tree {
+
+		final double[] dist;
+		final int[] pred;
+
+		Tree ( double[] dist, int[] pred ) {
+
+			this.dist = dist;
+			this.pred = pred;
+
+		}
+	}
+
+	private ShortestPaths ( Vertex[] vertices, int[] offsets, int[] targets,
+	                        double[] legs ) {
+
+		this.size = vertices.length;
+		this.vertices = vertices;
+		this.index = new HashMap<>();
+		this.offsets = offsets;
+		this.targets = targets;
+		this.legs = legs;
+
+		for ( int i = 0 ; i < size ; i++ ) {
+
+			index.put(vertices[i],i);
+
+		}
+	}
+
+	// Prepares the shortest times over a map graph whose edge weights are the
+	// leg times
+	static ShortestPaths compute ( WeightedGraph graph ) {
+
+		return compute(graph,1.0,0);
+
+	}
+
+	// Prepares the shortest times at a pace over a map graph whose edge weights
+	// are the raw leg distances, scaled as the map reader would scale them (to
+	// ticks if ticksPerMinute is positive)
+	static ShortestPaths compute ( WeightedGraph graph, double pace,
+	                               int ticksPerMinute ) {
+
+		Vertex[] vertices = new Vertex[graph.numVertices()];
+		int n = 0;
+		for ( Vertex v : graph.vertices() ) {
+
+			vertices[n++] = v;
+
+		}
+
+		// Copy the legs into rows of primitive arrays; a CSR map is read by
+		// index, without an Edge per leg
+		int[] offsets = new int[n + 1];
+		int[] targets = new int[graph.numEdges()];
+		double[] legs = new double[graph.numEdges()];
+		CsrGraph.Cursor cursor =
+		    (graph instanceof CsrGraph) ? ((CsrGraph) graph).cursor() : null;
+		int count = 0;
+		for ( int u = 0 ; u < n ; u++ ) {
+
+			offsets[u] = count;
+			if ( cursor != null ) {
+
+				for ( cursor.start(u) ; cursor.next() ; ) {
+
+					targets[count] = cursor.target();
+					legs[count++] = leg(cursor.weight(),pace,ticksPerMinute);
+
+				}
+				continue;
+
+			}
+
+			for ( Edge edge : graph.outgoingEdges(vertices[u]) ) {
+
+				targets[count] = graph.index(graph.destination(edge));
+				legs[count++] = leg(graph.weight(edge),pace,ticksPerMinute);
+
+			}
+		}
+		offsets[n] = count;
+
+		return new ShortestPaths(vertices,offsets,targets,legs);
+	}
+
+	// Returns the time of a leg at a pace; Dijkstra needs it not negative
+	private static double leg ( double distance, double pace, int ticksPerMinute ) {
+
+		double time = TimeO.travelTime(distance,pace,ticksPerMinute);
+		if ( !(time >= 0) ) throw new IllegalArgumentException("Leg times must not be negative");
+		return time;
+
+	}
+
+	// Returns the index of a vertex of the map, or -1 if it is not in the map
+	int indexOf ( Vertex v ) {
+
+		Integer i = index.get(v);
+		return (i != null) ? i : -1;
+
+	}
+
+	// Returns the shortest time from index u to index v, infinite if unreachable
+	double time ( int u, int v ) {
+
+		return tree(u).dist[v];
+
+	}
+
+	// Returns the time of the fastest direct leg from index u to index v
+	double legTime ( int u, int v ) {
+
+		double time = Double.POSITIVE_INFINITY;
+		for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+
+			if ( targets[i] == v ) time = Math.min(time,legs[i]);
+
+		}
+
+		return time;
+	}
+
+	// Returns the indices strictly between u and v on the fastest route
+	List<Integer> between ( int u, int v ) {
+
+		List<Integer> route = new ArrayList<>();
+		int[] pred = tree(u).pred;
+		if ( u == v || pred[v] < 0 ) return route;
+
+		for ( int w = pred[v] ; w != u ; w = pred[w] ) {
+
+			route.add(w);
+
+		}
+
+		Collections.reverse(route);
+		return route;
+	}
+
+	// Returns the shortest-path tree of a source, computing it if no thread has
+	// yet; threads asking for the same source meanwhile wait for that one
+	Tree tree ( int source ) {
+
+		CompletableFuture<Tree> tree = trees.get(source);
+		if ( tree == null ) {
+
+			CompletableFuture<Tree> created = new CompletableFuture<>();
+			tree = trees.putIfAbsent(source,created);
+			if ( tree == null ) {
+
+				tree = created;
+				try {
+
+					created.complete(dijkstra(source));
+
+				} catch ( RuntimeException | Error e ) {
+
+					trees.remove(source,created);
+					created.completeExceptionally(e);
+					throw e;
+
+				}
+			}
+		}
+
+		return tree.join();
+	}
+
+	// Keeps a tree computed earlier for the same map and leg times
+	void restore ( int source, Tree tree ) {
+
+		if ( source < 0 || source >= size || tree.dist.length != size
+		     || tree.pred.length != size )
+		  throw new IllegalArgumentException("Tree does not fit the map");
+
+		trees.put(source,CompletableFuture.completedFuture(tree));
+
+	}
+
+	// Finds the fastest route from a source to every vertex
+	private Tree dijkstra ( int source ) {
+
+		double[] dist = new double[size];
+		int[] pred = new int[size];
+		Arrays.fill(dist,Double.POSITIVE_INFINITY);
+		Arrays.fill(pred,-1);
+
+		Heap heap = new Heap(dist);
+		dist[source] = 0.0;
+		heap.update(source);
+
+		while ( !heap.isEmpty() ) {
+
+			int u = heap.poll();
+			for ( int i = offsets[u] ; i < offsets[u + 1] ; i++ ) {
+
+				int v = targets[i];
+				double through = dist[u] + legs[i];
+				if ( through + EPSILON < dist[v] ) {
+
+					dist[v] = through;
+					pred[v] = u;
+					heap.update(v);
+
+				}
+			}
+		}
+
+		return new Tree(dist,pred);
+	}
+
+	/**
+	 * Binary heap of vertices keyed by their current time, nearest first, that
+	 * knows where each vertex is so a shorter time moves it up in place.
+	 */
+	private static class Heap {
+
+		private final double[] key;
+		private final int[] heap;
+		// Position of each vertex in the heap, -1 if it is not in it
+		private final int[] place;
+		private int count;
+
+		Heap ( double[] key ) {
+
+			this.key = key;
+			this.heap = new int[key.length];
+			this.place = new int[key.length];
+			Arrays.fill(place,-1);
+
+		}
+
+		boolean isEmpty () {
+
+			return count == 0;
+
+		}
+
+		// Adds a vertex, or moves it up after its key decreased
+		void update ( int v ) {
+
+			if ( place[v] < 0 ) {
+
+				heap[count] = v;
+				place[v] = count++;
+
+			}
+			up(place[v]);
+
+		}
+
+		// Removes and returns the vertex with the smallest key
+		int poll () {
+
+			int first = heap[0];
+			place[first] = -1;
+			if ( --count > 0 ) {
+
+				heap[0] = heap[count];
+				place[heap[0]] = 0;
+				down(0);
+
+			}
+
+			return first;
+		}
+
+		private void up ( int i ) {
+
+			int v = heap[i];
+			while ( i > 0 && key[heap[(i - 1) / 2]] > key[v] ) {
+
+				heap[i] = heap[(i - 1) / 2];
+				place[heap[i]] = i;
+				i = (i - 1) / 2;
+
+			}
+			heap[i] = v;
+			place[v] = i;
+
+		}
+
+		private void down ( int i ) {
+
+			int v = heap[i];
+			while ( 2 * i + 1 < count ) {
+
+				int child = 2 * i + 1;
+				if ( child + 1 < count && key[heap[child + 1]] < key[heap[child]] ) child++;
+				if ( key[heap[child]] >= key[v] ) break;
+
+				heap[i] = heap[child];
+				place[heap[i]] = i;
+				i = child;
+
+			}
+			heap[i] = v;
+			place[v] = i;
+
+		}
+	}
+}
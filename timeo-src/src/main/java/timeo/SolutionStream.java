@@ -0,0 +1,76 @@
+package timeo;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Publishes the solutions of one solve as they are found: every route that
+ * beats the best score so far, then a final update with the result, marked
+ * optimal when an exact solver proved it. The stream closes after the final
+ * update, so a subscriber's onComplete follows it.
+ *
+ * A search worker only hands an update to the publisher's buffer and goes on;
+ * subscribers are called on the publisher's executor. If a subscriber falls
+ * so far behind that its buffer is full, further improvements are dropped for
+ * it, but the final update always waits for room.
+ */
+class SolutionStream extends SubmissionPublisher<SolutionStream.Update> {
+
+	/**
+	 * A solution with the milliseconds since the stream was opened. The
+	 * solution's visits are its controls, without the vertices passed through
+	 * on the way between them.
+	 */
+	static class Update {
+
+		final TimeO.Solution solution;
+		final double millis;
+		final boolean last;
+		final boolean optimal;
+
+		Update ( TimeO.Solution solution, double millis, boolean last,
+		         boolean optimal ) {
+
+			this.solution = solution;
+			this.millis = millis;
+			this.last = last;
+			this.optimal = optimal;
+
+		}
+	}
+
+	private final long start = System.nanoTime();
+
+	// Score of the last improvement published; workers of a parallel search
+	// may report improvements out of order, and older ones are skipped
+	private int publishedScore = 0;
+
+	// Publishes a solution that improved on the best score, unless a better
+	// one was already published
+	void improved ( TimeO.Solution solution ) {
+
+		synchronized ( this ) {
+
+			if ( solution.totalScore <= publishedScore ) return;
+			publishedScore = solution.totalScore;
+			offer(new Update(solution,millis(),false,false),(subscriber,update) -> false);
+
+		}
+	}
+
+	// Publishes the result of the solve and closes the stream
+	void finish ( TimeO.Solution solution, boolean optimal ) {
+
+		synchronized ( this ) {
+
+			submit(new Update(solution,millis(),true,optimal));
+
+		}
+		close();
+
+	}
+
+	private double millis () {
+
+		return (System.nanoTime() - start) / 1e6;
+
+	}
+}
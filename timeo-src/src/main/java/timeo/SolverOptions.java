@@ -0,0 +1,236 @@
+package timeo;
+
+/**
+ * Optional command line settings that follow the map file, course file and
+ * pace arguments (or the map and manifest files of a batch run).
+ */
+class SolverOptions {
+
+	// Usage lines for the optional settings
+	static final String USAGE =
+	    "  --graph <type>      map graph: list, matrix or csr (default list)\n"
+	    + "  --ticks <n>         keep times as whole ticks, n per minute (e.g. 600 for\n"
+	    + "                      tenths of a second; default 0 keeps exact minutes)\n"
+	    + "  --threads <n>       search with n worker threads (default 1)\n"
+	    + "  --split-depth <d>   tree levels expanded before forking (default 1)\n"
+	    + "  --bound <name>      pruning bound: sum, reach or knapsack (default knapsack)\n"
+	    + "  --order <name>      child order: course, nearest, deadline, ratio or bound\n"
+	    + "                      (default course)\n"
+	    + "  --table-mb <n>      memory for the transposition table in MB (default 64,\n"
+	    + "                      0 disables it)\n"
+	    + "  --dp-threshold <n>  use the label DP solver for courses of at most n controls\n"
+	    + "                      (default 20, 0 disables it)\n"
+	    + "  --max-labels <n>    label storage cap for the DP solver (default 4194304)\n"
+	    + "  --time-budget <ms>  print the best heuristic route found within ms\n"
+	    + "  --warm-start        seed the exact search with a heuristic route found within\n"
+	    + "                      the time budget (default 200 ms)\n"
+	    + "  --initial <file>    seed the exact search with a route saved by --save-route\n"
+	    + "  --save-route <file> save the route found, one control code per line\n"
+	    + "  --compare-cold      also run a cold search and print the nodes saved\n"
+	    + "  --top-k <k>         print the k best distinct routes (default 1)\n"
+	    + "  --min-distance <d>  controls in which alternative routes must differ\n"
+	    + "                      (default 1)\n"
+	    + "  --progress          print each better route to stderr as soon as it is found\n"
+	    + "  --stats             print search statistics after the results\n"
+	    + "  --stats-json <file> write the search statistics to a JSON file\n"
+	    + "  --workers <n>       batch: jobs solved at once (default: available cores)\n"
+	    + "  --format <name>     batch: result lines as json or csv (default json)";
+
+	// Graph the map is read into: list (adjacency lists), matrix or csr
+	String graph = "list";
+	// Ticks per minute that times are rounded to, 0 to keep minutes
+	int ticksPerMinute = 0;
+	// Number of search threads; 1 runs the sequential search
+	int threads = 1;
+	// Levels of the search tree expanded before the subtrees are forked
+	int splitDepth = 1;
+	// Name of the upper bound used for pruning
+	String bound = "knapsack";
+	// Name of the order children are tried in
+	String order = "course";
+	// Megabytes for the transposition table, 0 if it is not used
+	int tableMegabytes = 64;
+	// Largest course solved with the label DP solver, and its label cap
+	int dpThreshold = 20;
+	int maxLabels = 1 << 22;
+	// Milliseconds for the anytime heuristic, 0 if it is not used
+	long timeBudget = 0;
+	// Seed the exact search with the heuristic route
+	boolean warmStart = false;
+	// Route file to start from and route file to save the result to
+	String initialRoute = null;
+	String saveRoute = null;
+	// Run a second, cold search to measure the nodes a warm start saved
+	boolean compareCold = false;
+	// Number of best distinct routes to find, and the number of controls their
+	// visited sets must differ in
+	int topK = 1;
+	int minDistance = 1;
+	// Print each better route as soon as the solvers find it
+	boolean progress = false;
+	// Print search statistics after the results, and file to write them to
+	// as JSON, null for none
+	boolean stats = false;
+	String statsJson = null;
+	// Batch jobs solved at once, and the format of their result lines
+	int workers = Runtime.getRuntime().availableProcessors();
+	String format = "json";
+
+	// Parses the settings in args starting at index from
+	static SolverOptions parse ( String[] args, int from ) {
+
+		SolverOptions options = new SolverOptions();
+
+		for ( int i = from ; i < args.length ; i++ ) {
+
+			String flag = args[i];
+			switch ( flag ) {
+
+				case "--graph":
+					options.graph = stringValue(args,++i,flag);
+					if ( !options.graph.matches("list|matrix|csr") )
+					  throw new IllegalArgumentException("Unknown graph " + options.graph);
+					break;
+
+				case "--ticks":
+					options.ticksPerMinute = intValue(args,++i,flag,0);
+					break;
+
+				case "--threads":
+					options.threads = intValue(args,++i,flag,1);
+					break;
+
+				case "--split-depth":
+					options.splitDepth = intValue(args,++i,flag,1);
+					break;
+
+				case "--bound":
+					options.bound = stringValue(args,++i,flag);
+					if ( !options.bound.matches("sum|reach|knapsack") )
+					  throw new IllegalArgumentException("Unknown bound " + options.bound);
+					break;
+
+				case "--order":
+					options.order = stringValue(args,++i,flag);
+					if ( !options.order.matches("course|nearest|deadline|ratio|bound") )
+					  throw new IllegalArgumentException("Unknown order " + options.order);
+					break;
+
+				case "--table-mb":
+					options.tableMegabytes = intValue(args,++i,flag,0);
+					break;
+
+				case "--dp-threshold":
+					options.dpThreshold = intValue(args,++i,flag,0);
+					break;
+
+				case "--max-labels":
+					options.maxLabels = intValue(args,++i,flag,1);
+					break;
+
+				case "--time-budget":
+					options.timeBudget = intValue(args,++i,flag,1);
+					break;
+
+				case "--warm-start":
+					options.warmStart = true;
+					break;
+
+				case "--initial":
+					options.initialRoute = stringValue(args,++i,flag);
+					break;
+
+				case "--save-route":
+					options.saveRoute = stringValue(args,++i,flag);
+					break;
+
+				case "--compare-cold":
+					options.compareCold = true;
+					options.stats = true;
+					break;
+
+				case "--top-k":
+					options.topK = intValue(args,++i,flag,1);
+					break;
+
+				case "--min-distance":
+					options.minDistance = intValue(args,++i,flag,1);
+					break;
+
+				case "--progress":
+					options.progress = true;
+					break;
+
+				case "--stats":
+					options.stats = true;
+					break;
+
+				case "--stats-json":
+					options.statsJson = stringValue(args,++i,flag);
+					break;
+
+				case "--workers":
+					options.workers = intValue(args,++i,flag,1);
+					break;
+
+				case "--format":
+					options.format = stringValue(args,++i,flag);
+					if ( !options.format.matches("json|csv") )
+					  throw new IllegalArgumentException("Unknown format " + options.format);
+					break;
+
+				default:
+					throw new IllegalArgumentException("Unknown option " + flag);
+
+			}
+		}
+
+		// Both runs of the comparison must be branch-and-bound searches, since
+		// the label DP solver expands no nodes, and there must be a seed to
+		// compare against
+		if ( options.compareCold ) {
+
+			if ( !options.warmStart && options.initialRoute == null )
+			  throw new IllegalArgumentException("--compare-cold needs --warm-start "
+			      + "or --initial");
+			options.dpThreshold = 0;
+
+		}
+
+		if ( options.topK > 1 && (options.timeBudget > 0 || options.warmStart
+		                          || options.initialRoute != null) )
+		  throw new IllegalArgumentException("--top-k cannot be combined with "
+		      + "--time-budget, --warm-start or --initial");
+
+		return options;
+	}
+
+	// Reads the value of a flag
+	private static String stringValue ( String[] args, int i, String flag ) {
+
+		if ( i >= args.length )
+		  throw new IllegalArgumentException(flag + " needs a value");
+		return args[i];
+
+	}
+
+	// Reads the integer value of a flag, which must be at least min
+	private static int intValue ( String[] args, int i, String flag, int min ) {
+
+		if ( i >= args.length )
+		  throw new IllegalArgumentException(flag + " needs a value");
+
+		try {
+
+			int value = Integer.parseInt(args[i]);
+			if ( value < min )
+			  throw new IllegalArgumentException(flag + " must be at least " + min);
+			return value;
+
+		} catch ( NumberFormatException e ) {
+
+			throw new IllegalArgumentException(flag + " must be an integer");
+
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package timeo;
+import graphcomponents.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled, read-only view of a map for the solver. Control codes are mapped
+ * to dense ids (0 is the start/finish, i + 1 is the i-th control of the
+ * course) and travel times are stored in a flat row-major matrix, so the
+ * search can look up the cost of an arc in constant time without allocating.
+ * The times are the metric-closed shortest times of the map, so they satisfy
+ * the triangle inequality. The Graph remains the authoring/parsing model only.
+ *
+ * With a positive number of ticks per minute, every time the solver sees is a
+ * whole number of ticks, rounded once when the map is read. Sums and
+ * comparisons of such times are then exact integer arithmetic (a double holds
+ * every integer up to 2^53), so results do not depend on the order times are
+ * added in, whichever engine or thread computes them.
+ */
+class SolverView {
+
+	// Id of the start/finish vertex
+	static final int START = 0;
+
+	// Integers of at most this size are all held exactly by a double
+	static final double MAX_EXACT = 0x1p53;
+
+	// Number of ids (the start plus one per course control)
+	final int size;
+	// Control code for each id
+	final String[] codes;
+	// Travel time from id u to id v at times[u * size + v], infinite if no route
+	final double[] times;
+	// Ticks per minute of every time, 0 if times are in minutes
+	final int ticksPerMinute;
+
+	// Shortest paths of the map, the factor their times are scaled by and the
+	// map index of each id, -1 if not mapped
+	private final ShortestPaths paths;
+	private final double scale;
+	private final int[] mapIndex;
+
+	private SolverView ( String[] codes, double[] times, int ticksPerMinute,
+	                     ShortestPaths paths, double scale, int[] mapIndex ) {
+
+		this.size = codes.length;
+		this.codes = codes;
+		this.times = times;
+		this.ticksPerMinute = ticksPerMinute;
+		this.paths = paths;
+		this.scale = scale;
+		this.mapIndex = mapIndex;
+
+	}
+
+	// Builds the view for the given course from the shortest paths of the map,
+	// whose times are in ticks if ticksPerMinute is positive
+	static SolverView compile ( ShortestPaths paths,
+	                            Map<String,Vertex> codeToVertex,
+	                            List<TimeO.Control> controls,
+	                            int ticksPerMinute ) {
+
+		return compile(paths,codeToVertex,controls,1.0,ticksPerMinute);
+
+	}
+
+	// Builds the view for the given course from shortest paths whose times are
+	// multiplied by scale (the pace, if the map holds raw distances)
+	static SolverView compile ( ShortestPaths paths,
+	                            Map<String,Vertex> codeToVertex,
+	                            List<TimeO.Control> controls,
+	                            double scale, int ticksPerMinute ) {
+
+		if ( (long) (controls.size() + 1) * (controls.size() + 1) > Integer.MAX_VALUE )
+		  throw new IllegalArgumentException("Too many controls");
+
+		int size = controls.size() + 1;
+		String[] codes = new String[size];
+		int[] mapIndex = new int[size];
+		Set<Vertex> seen = new HashSet<>();
+
+		codes[START] = "start";
+		mapIndex[START] = paths.indexOf(codeToVertex.get("start"));
+		seen.add(codeToVertex.get("start"));
+		for ( int i = 0 ; i < controls.size() ; i++ ) {
+
+			// A control listed twice is only reachable under its first id
+			Vertex vertex = codeToVertex.get(controls.get(i).code);
+			codes[i + 1] = controls.get(i).code;
+			mapIndex[i + 1] = seen.add(vertex) ? paths.indexOf(vertex) : -1;
+
+		}
+
+		double[] times = new double[size * size];
+		Arrays.fill(times,Double.POSITIVE_INFINITY);
+		for ( int u = 0 ; u < size ; u++ ) {
+
+			for ( int v = 0 ; v < size ; v++ ) {
+
+				if ( u != v && mapIndex[u] >= 0 && mapIndex[v] >= 0 ) {
+
+					times[u * size + v] = paths.time(mapIndex[u],mapIndex[v]) * scale;
+
+				}
+			}
+		}
+
+		// A route sums at most one time per id, so tick sums stay exact if
+		// that total fits in 2^53
+		if ( ticksPerMinute > 0 ) {
+
+			for ( double time : times ) {
+
+				if ( time != Double.POSITIVE_INFINITY && time * size >= MAX_EXACT )
+				  throw new IllegalArgumentException("Times are too long to count in ticks");
+
+			}
+		}
+
+		return new SolverView(codes,times,ticksPerMinute,paths,scale,mapIndex);
+	}
+
+	// Converts a number of minutes to the unit of the view's times
+	double fromMinutes ( double minutes ) {
+
+		if ( ticksPerMinute == 0 ) return minutes;
+		return Math.round(minutes * ticksPerMinute);
+
+	}
+
+	// Converts a time in the unit of the view's times to minutes
+	double toMinutes ( double time ) {
+
+		if ( ticksPerMinute == 0 ) return time;
+		return time / ticksPerMinute;
+
+	}
+
+	// Returns the travel time from id u to id v, infinite if there is no route
+	double time ( int u, int v ) {
+
+		return times[u * size + v];
+
+	}
+
+	// Expands a route of visits (ending back at the start) with the vertices
+	// passed through between consecutive visits, which score no points; the
+	// visit times are in minutes
+	List<TimeO.Visit> expandRoute ( List<TimeO.Visit> visits ) {
+
+		List<TimeO.Visit> route = new ArrayList<>();
+		int from = START;
+		double time = 0.0;
+
+		for ( TimeO.Visit visit : visits ) {
+
+			int u = mapIndex[from];
+			for ( int w : paths.between(u,mapIndex[visit.id]) ) {
+
+				time += toMinutes(paths.legTime(u,w) * scale);
+				route.add(new TimeO.Visit(codeOf(w),idOf(w),time,0));
+				u = w;
+
+			}
+
+			route.add(visit);
+			from = visit.id;
+			time = visit.time;
+
+		}
+
+		return route;
+	}
+
+	// Returns the code of the map vertex at index w
+	private String codeOf ( int w ) {
+
+		return paths.vertices[w].getObject().toString();
+
+	}
+
+	// Returns the id of the map vertex at index w, or -1 if it is not on the course
+	private int idOf ( int w ) {
+
+		for ( int id = 0 ; id < size ; id++ ) {
+
+			if ( mapIndex[id] == w ) return id;
+
+		}
+
+		return -1;
+	}
+}
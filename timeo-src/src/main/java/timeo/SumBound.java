@@ -0,0 +1,25 @@
+package timeo;
+
+/**
+ * The original bound: every control not yet on the path could still be
+ * scored, less the penalty already incurred on arrival at the next control.
+ */
+class SumBound implements UpperBound {
+
+	private final Course course;
+
+	SumBound ( Course course ) {
+
+		this.course = course;
+
+	}
+
+	@Override
+	public int bound ( BranchAndBound.Worker path, int nextId,
+	                   double arrivalTime, double visitTime, int score ) {
+
+		return score + path.remainingPoints() - course.points[nextId]
+		    - course.penalty(arrivalTime);
+
+	}
+}
@@ -0,0 +1,626 @@
+package timeo;
+import graphcomponents.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Time-O orienteering problem implementation to maximize score by visiting
+ * controls within their time windows, respecting the time limit and penalties.
+ */
+public class TimeO {
+
+	// Heuristic budget for --warm-start without --time-budget, in milliseconds
+	private static final long DEFAULT_WARM_START_BUDGET = 200;
+	// Random seed of the anytime heuristic, fixed so runs are repeatable
+	private static final long HEURISTIC_SEED = 327;
+
+	// Helper class to store info about each control from the course file.
+	static class Control {
+		
+		String code;
+		int points;
+		double openTime;
+		double closeTime;
+
+		Control ( String code, int points, double openTime, double closeTime ) {
+			
+			this.code = code;
+			this.points = points;
+			this.openTime = openTime;
+			this.closeTime = closeTime;
+			
+		}
+	}
+
+	// Helper class to store the time limit and penalty from the course file.
+	static class TimeLimit {
+		
+		double minutes;
+		double penaltyPerMinute;
+
+	}
+
+	// Helper class to store everything the solver needs from a map and course.
+	static class Problem {
+		
+		ShortestPaths paths;
+		Map<String,Vertex> codeToVertex;
+		List<Control> controls;
+		TimeLimit limit;
+
+	}
+
+	// Helper class to store a visit to a control in the solution path.
+	static class Visit {
+		
+		String code;
+		int id;
+		double time;
+		int points;
+
+		Visit ( String code, int id, double time, int points ) {
+			
+			this.code = code;
+			this.id = id;
+			this.time = time;
+			this.points = points;
+			
+		}
+	}
+
+	// Helper class to store the best solution found during backtracking.
+	static class Solution {
+		
+		List<Visit> visits;
+		double totalTime;
+		int totalScore;
+		int rawScore;
+		int penalty;
+
+		Solution () {
+			
+			visits = new ArrayList<>();
+			totalTime = 0.0;
+			totalScore = 0;
+			rawScore = 0;
+			penalty = 0;
+			
+		}
+	}
+
+	public static void main ( String[] args ) {
+		
+		if ( args.length > 0 && args[0].equals("convert") ) {
+			convert(args);
+			return;
+		}
+		if ( args.length > 0 && args[0].equals("batch") ) {
+			BatchSolver.main(args);
+			return;
+		}
+		if ( args.length > 0 && args[0].equals("replan") ) {
+			ReplanSession.main(args);
+			return;
+		}
+
+		/*
+		 * Extract map file, course file, and pace from command line (or binary
+		 * file and pace), output error if input is in unexpected format.
+		 */
+		boolean binary = args.length > 0 && BinaryFormat.isBinary(args[0]);
+		int positional = binary ? 2 : 3;
+		if ( args.length < positional ) {
+			printUsage();
+			return;
+		}
+
+		double pace;
+		SolverOptions options;
+		
+		try {
+			
+			pace = Double.parseDouble(args[positional - 1]);
+			
+		} catch ( NumberFormatException e ) {
+			
+			System.err.println("Error: Pace must be a number");
+			return;
+		}
+
+		try {
+			
+			options = SolverOptions.parse(args,positional);
+			
+		} catch ( IllegalArgumentException e ) {
+			
+			System.err.println("Error: " + e.getMessage());
+			return;
+		}
+		
+		// Read map and course files
+		try {
+			
+			int ticks = options.ticksPerMinute;
+			Problem problem = binary ? BinaryFormat.read(args[0],pace,ticks)
+			    : readTextFiles(args[0],args[1],pace,ticks,options.graph);
+			List<Control> controls = problem.controls;
+			double timeLimit = problem.limit.minutes;
+			double penaltyPerMinute = problem.limit.penaltyPerMinute;
+
+			// Compile the shortest paths into the solver's dense travel-time view
+			SolverView view =
+			    SolverView.compile(problem.paths,problem.codeToVertex,controls,ticks);
+			Course course = new Course(view,controls,timeLimit,penaltyPerMinute);
+			BranchAndBound search = newSearch(course,options);
+
+			// Start from a route saved by an earlier run, if one was given
+			Solution initial = (options.initialRoute != null)
+			    ? RouteFile.read(options.initialRoute,course) : new Solution();
+
+			// Find the best path using backtracking, printing each better route
+			// as soon as it is found with --progress
+			CompletableFuture<Void> progress =
+			    options.progress ? printProgress(search) : null;
+			Solution bestSolution = findBestPath(search,options,initial);
+			if ( progress != null ) progress.join();
+			if ( options.saveRoute != null ) {
+				RouteFile.write(options.saveRoute,bestSolution);
+			}
+
+			// Output the results along the real route through the map
+			bestSolution.visits = view.expandRoute(bestSolution.visits);
+			printResults(bestSolution,timeLimit,penaltyPerMinute);
+			if ( search.topRoutes() != null ) printAlternatives(search.topRoutes());
+			if ( options.stats ) {
+				System.out.println("\n\nFeasible Arcs:\t" + course.feasibleArcs() + " of "
+				    + course.numControls() * course.numControls());
+				search.stats().print(System.out);
+			}
+			if ( options.statsJson != null ) {
+				Files.write(Paths.get(options.statsJson),
+				            search.stats().toJson().getBytes(StandardCharsets.UTF_8));
+			}
+
+			// Measure the nodes the warm start saved with a second, cold search;
+			// both searches are branch-and-bound, as the options force
+			if ( options.compareCold ) {
+				
+				BranchAndBound cold = newSearch(course,options);
+				backtrack(cold,options,new Solution());
+				
+				long saved = cold.nodesExpanded() - search.nodesExpanded();
+				System.out.println("Nodes Expanded (cold start):\t"
+				    + cold.nodesExpanded());
+				System.out.println(String.format("Nodes Saved by Warm Start:\t%d (%.1f%%)",
+				    saved,100.0 * saved / Math.max(1,cold.nodesExpanded())));
+				
+			}
+
+		} catch ( IOException e ) {
+			System.err.println("Error reading files: " + e.getMessage());
+		} catch ( IllegalArgumentException e ) {
+			System.err.println("Error: " + e.getMessage());
+		}
+	}
+
+	static void printUsage () {
+		
+		System.err.println("Usage: java TimeO <map_file> <course_file> <pace> [options]");
+		System.err.println("       java TimeO <binary_file> <pace> [options]");
+		System.err.println("       java TimeO convert <map_file> <course_file> <binary_file> [pace]");
+		System.err.println("       java TimeO batch <map_file> <manifest_file> [options]");
+		System.err.println("       java TimeO replan <map_file> <course_file> <pace> [options]"
+		    + " < changes");
+		System.err.println("         (each plan is a full re-solve, warm-started from the"
+		    + " last route)");
+		System.err.println(SolverOptions.USAGE);
+		
+	}
+
+	// Converts a map and course file to the binary format, storing the
+	// shortest times too if a pace is given
+	private static void convert ( String[] args ) {
+		
+		if ( args.length != 4 && args.length != 5 ) {
+			printUsage();
+			return;
+		}
+
+		try {
+			
+			double pace = (args.length == 5) ? Double.parseDouble(args[4]) : 0.0;
+			if ( !(pace >= 0) ) throw new NumberFormatException();
+
+			MapBuilder map = new MapBuilder("list");
+			Map<String,Vertex> codeToVertex = new HashMap<>();
+			List<Control> controls = new ArrayList<>();
+			readMapFile(args[1],map,1.0,0);
+			TimeLimit limit = readCourseFile(args[2],controls,map);
+			WeightedGraph graph = map.build(codeToVertex);
+			BinaryFormat.write(args[3],graph,codeToVertex,controls,limit,pace);
+			
+		} catch ( NumberFormatException e ) {
+			System.err.println("Error: Pace must be a positive number");
+		} catch ( IOException e ) {
+			System.err.println("Error reading files: " + e.getMessage());
+		} catch ( IllegalArgumentException e ) {
+			System.err.println("Error: " + e.getMessage());
+		}
+	}
+
+	// Reads the map and course text files
+	static Problem readTextFiles ( String mapFile, String courseFile,
+	                               double pace, int ticksPerMinute,
+	                               String graphType )
+	    throws IOException {
+		
+		MapBuilder map = new MapBuilder(graphType);
+		Problem problem = new Problem();
+		problem.codeToVertex = new HashMap<>();
+		problem.controls = new ArrayList<>();
+
+		readMapFile(mapFile,map,pace,ticksPerMinute);
+		problem.limit = readCourseFile(courseFile,problem.controls,map);
+		problem.paths = ShortestPaths.compute(map.build(problem.codeToVertex));
+		return problem;
+	}
+
+	static void readMapFile ( String mapFile, MapBuilder map,
+	                          double pace, int ticksPerMinute )
+	    throws IOException {
+		
+		// Read the map file and collect the vertices and one directed leg per
+		// direction, since forward and backward times may differ.
+		MappedText text = new MappedText(mapFile);
+		if ( !text.nextLine() ) return;
+
+		// Read control codes
+		if ( !text.nextIs("controls") ) throw text.error("expected controls");
+		int numControls = text.nextInt();
+
+		// Add start/finish vertex
+		MappedText.Codes codes = new MappedText.Codes();
+		codes.add("start",map.addVertex("start"));
+
+		// Add control vertices
+		for ( int i = 1 ; i <= numControls ; i++ ) {
+			
+			String code = text.nextWord();
+			int id = map.addVertex(code);
+			if ( id < 0 ) throw text.error("control " + code + " is listed twice");
+			codes.add(code,id);
+			
+		}
+		text.endLine();
+
+		// Read legs
+		while ( text.nextLine() ) {
+			
+			int src = text.nextCode(codes);
+			if ( src < 0 ) throw text.error("unknown control " + text.lastToken());
+			int dst = text.nextCode(codes);
+			if ( dst < 0 ) throw text.error("unknown control " + text.lastToken());
+			double dist = travelTime(text.nextDouble(),pace,ticksPerMinute);
+			double revDist = travelTime(text.nextDouble(),pace,ticksPerMinute);
+			text.endLine();
+
+			try {
+				
+				map.addLeg(src,dst,dist);
+				map.addLeg(dst,src,revDist);
+				
+			} catch ( IllegalArgumentException e ) {
+				throw text.error(e.getMessage());
+			}
+			
+		}
+	}
+
+	// Returns the time to cover a distance at a pace, in minutes, or rounded
+	// to whole ticks if ticksPerMinute is positive
+	static double travelTime ( double distance, double pace, int ticksPerMinute ) {
+
+		if ( ticksPerMinute == 0 ) return distance * pace;
+		return Math.round(distance * pace * ticksPerMinute);
+
+	}
+
+	static TimeLimit readCourseFile ( String courseFile,
+	                                  List<Control> controls,
+	                                  MapBuilder map )
+	    throws IOException {
+		
+		// Read the course file and store the time limit and control information.
+		MappedText text = new MappedText(courseFile);
+		TimeLimit limit = new TimeLimit();
+		int declared = -1;
+		
+		while ( text.nextLine() ) {
+			
+			if ( text.nextIs("timelimit") ) {
+				
+				limit.minutes = text.nextDouble();
+				limit.penaltyPerMinute = text.nextDouble();
+				
+			} else if ( text.nextIs("controls") ) {
+				
+				declared = text.nextInt();
+				
+			} else {
+				
+				// Read control details
+				String code = text.nextWord();
+				int points = text.nextInt();
+				double openTime = text.nextDouble();
+				double closeTime = text.nextDouble();
+
+				controls.add(new Control(code,points,openTime,closeTime));
+
+				// Ensure vertex exists; with no map builder (a batch job against
+				// a map built already) a control not on the map is unreachable
+				if ( map != null ) map.addVertex(code);
+			}
+			text.endLine();
+		}
+
+		if ( declared >= 0 && declared != controls.size() )
+		  throw new IllegalArgumentException(courseFile + ": declares " + declared
+		      + " controls but lists " + controls.size());
+		return limit;
+	}
+
+	// Builds the branch-and-bound search with the bound, child order and
+	// transposition table given by the options
+	static BranchAndBound newSearch ( Course course,
+	                                  SolverOptions options ) {
+
+		return newSearch(course,options,newTable(course,options));
+
+	}
+
+	// Returns the transposition table the options ask for, or null if there is
+	// none or the course is too large to use one
+	static TranspositionTable newTable ( Course course, SolverOptions options ) {
+
+		if ( options.tableMegabytes > 0 && course.view.size <= Long.SIZE ) {
+
+			return new TranspositionTable(options.tableMegabytes);
+
+		}
+		return null;
+	}
+
+	// Builds the search as above with a table made earlier, null for none, so
+	// that repeated searches of one course can reuse its memory
+	static BranchAndBound newSearch ( Course course, SolverOptions options,
+	                                  TranspositionTable table ) {
+
+		BranchAndBound search = new BranchAndBound(course);
+		search.setBound(UpperBound.forName(options.bound,course));
+		search.setOrder(ChildOrder.forName(options.order,course));
+		search.setTable(table);
+		if ( options.stats || options.statsJson != null ) {
+
+			search.setStats(new SearchStats(course.view.size));
+
+		}
+		if ( options.topK > 1 ) {
+
+			search.setTopRoutes(new TopRoutes(options.topK,options.minDistance));
+
+		}
+		return search;
+	}
+
+	static Solution findBestPath ( BranchAndBound search,
+	                               SolverOptions options,
+	                               Solution initial ) {
+		
+		// Close the search's stream, if it has one, with the error of a failed
+		// solve so its subscribers are not left waiting
+		SolutionStream stream = search.stream();
+		if ( stream == null ) return solve(search,options,initial,null);
+		
+		try {
+			
+			return solve(search,options,initial,stream);
+			
+		} catch ( RuntimeException | Error e ) {
+			
+			stream.closeExceptionally(e);
+			throw e;
+			
+		}
+	}
+
+	// Solves with the engines chosen by the options, publishing the solutions
+	// found to the stream, if not null
+	private static Solution solve ( BranchAndBound search,
+	                                SolverOptions options, Solution initial,
+	                                SolutionStream stream ) {
+		
+		// The k best routes all come from the exact search, which keeps them as
+		// it goes
+		if ( search.topRoutes() != null ) {
+			
+			return finish(stream,backtrack(search,options,new Solution()),true);
+			
+		}
+		
+		// The anytime heuristic either answers on its own within the time budget
+		// or seeds the exact search with its best route, if that is better than
+		// the initial one.
+		Course course = search.course;
+		if ( options.timeBudget > 0 || options.warmStart ) {
+			
+			long budget = (options.timeBudget > 0) ? options.timeBudget
+			    : DEFAULT_WARM_START_BUDGET;
+			Solution heuristic =
+			    new AnytimeSolver(course,HEURISTIC_SEED).solve(budget);
+			if ( heuristic.totalScore > initial.totalScore ) initial = heuristic;
+			if ( !options.warmStart ) return finish(stream,initial,false);
+			
+		}
+		if ( stream != null ) stream.improved(initial);
+		
+		// Courses small enough for the label DP solver are solved exactly by it,
+		// falling back to backtracking if its labels outgrow the memory cap; the
+		// note goes to standard error so the results on standard output, and a
+		// batch run's result lines, stay the same either way.
+		if ( course.numControls() <= options.dpThreshold
+		    && course.numControls() <= LabelSolver.MAX_CONTROLS ) {
+			
+			long start = System.nanoTime();
+			LabelSolver labels = new LabelSolver(course,options.maxLabels);
+			Solution solution = labels.solve();
+			if ( solution != null ) {
+				
+				if ( search.stats() != null ) {
+					search.stats().solvedByLabels(labels.labelsCreated(),start);
+				}
+				return finish(stream,solution,true);
+				
+			}
+			System.err.println("Label limit of " + options.maxLabels
+			    + " reached, falling back to backtracking");
+			
+		}
+		
+		return finish(stream,backtrack(search,options,initial),true);
+	}
+
+	// Prints the routes after the best of the k best, with their controls and
+	// the number of controls in which each differs from the best
+	private static void printAlternatives ( TopRoutes top ) {
+		
+		List<TopRoutes.Route> routes = top.routes();
+		if ( routes.size() < 2 ) return;
+		
+		System.out.println("\n\nAlternative Routes:");
+		for ( int i = 1 ; i < routes.size() ; i++ ) {
+			
+			Solution route = routes.get(i).solution;
+			StringBuilder codes = new StringBuilder();
+			for ( Visit visit : route.visits ) {
+				if ( visit.id > 0 ) codes.append(' ').append(visit.code);
+			}
+			int differs = TopRoutes.distance(routes.get(0).visited,routes.get(i).visited);
+			System.out.println(String.format("%d. Score %d, Time %.1f, Differs in %d:%s",
+			                                 i + 1,route.totalScore,route.totalTime,
+			                                 differs,codes));
+			
+		}
+	}
+
+	// Publishes the solutions of the search to a stream that prints each one
+	// to standard error; the returned future completes after the last
+	private static CompletableFuture<Void> printProgress ( BranchAndBound search ) {
+		
+		SolutionStream stream = new SolutionStream();
+		search.setStream(stream);
+		return stream.consume(update -> {
+			
+			String label = !update.last ? "Improved:"
+			    : update.optimal ? "Optimal:" : "Best Found:";
+			Solution solution = update.solution;
+			System.err.println(String.format("%s\t%d points, %.1f minutes, %d controls (%.1f ms)",
+			                                 label,solution.totalScore,solution.totalTime,
+			                                 Math.max(0,solution.visits.size() - 1),update.millis));
+			
+		});
+	}
+
+	// Publishes the result of a solve to the stream, if not null
+	private static Solution finish ( SolutionStream stream, Solution solution,
+	                                 boolean optimal ) {
+		
+		if ( stream != null ) stream.finish(solution,optimal);
+		return solution;
+		
+	}
+
+	private static Solution backtrack ( BranchAndBound search,
+	                                    SolverOptions options,
+	                                    Solution initial ) {
+		
+		// Use backtracking to find the path with maximum score, splitting the
+		// tree across a fork-join pool when more than one thread is requested.
+		SearchEvent event = new SearchEvent();
+		event.begin();
+		Solution solution;
+		if ( options.threads == 1 ) {
+			
+			solution = search.solve(initial);
+			
+		} else {
+			
+			ForkJoinPool pool = new ForkJoinPool(options.threads);
+			try {
+				
+				solution = new ParallelSolver(search,pool,options.splitDepth).solve(initial);
+				
+			} finally {
+				
+				pool.shutdown();
+				
+			}
+		}
+		
+		// The best of the k best routes, if the search kept them
+		if ( search.topRoutes() != null && !search.topRoutes().routes().isEmpty() ) {
+			
+			solution = search.topRoutes().routes().get(0).solution;
+			
+		}
+		
+		// Mark the solve for the flight recorder, if a recording enables it
+		event.end();
+		if ( event.shouldCommit() ) {
+			
+			event.controls = search.course.numControls();
+			event.threads = options.threads;
+			event.nodes = search.nodesExpanded();
+			event.score = solution.totalScore;
+			event.commit();
+			
+		}
+		return solution;
+	}
+
+	static void printResults ( Solution solution, double timeLimit,
+	                           double penaltyPerMinute ) {
+		
+		// Print the results in a descriptive format with totals and control visits.
+		System.out.println("Total Time:\t" + solution.totalTime);
+		System.out.println("Total Score:\t" + solution.totalScore);
+		System.out.println("Raw Score:\t" + solution.rawScore);
+		System.out.println("Total Penalty:\t" + solution.penalty);
+		System.out.println("\nControls Visited (end -> start) :");
+		int printCap = 2;
+
+		for ( int i = 0 ; i < solution.visits.size() ; i++ ) {
+			
+			Visit visit = solution.visits.get(i);
+			String entry =
+			    String.format("{ ID: %d | Code: %s | Time: %.1f | Points: %d }",
+			                  visit.id,visit.code,visit.time,visit.points);
+			
+			if ( printCap != 0 ) {
+				System.out.print(" -> " + entry + " ");
+				printCap--;
+			} else {
+				System.out.println(" -> " + entry + " ->");
+				printCap = 2;
+			}
+			
+		}
+	}
+}
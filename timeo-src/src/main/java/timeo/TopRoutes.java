@@ -0,0 +1,172 @@
+package timeo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The k best distinct routes found by a search, shared by every worker. Two
+ * routes are distinct when their sets of visited controls differ in at least
+ * minDistance controls (the Hamming distance of the sets), so a route and a
+ * reordering of it are never both kept. A new route replaces the kept routes
+ * too close to it only if it beats each of them.
+ *
+ * The routes are kept in a min-heap by score and rank, whose root is the
+ * k-th best route. Once k routes are kept the search's Incumbent is raised to
+ * that route, so the search prunes every branch that cannot beat the k-th
+ * best score and costs little more than a single best solve. Ties resolve by
+ * rank, as for the incumbent, so a parallel search keeps the same routes.
+ *
+ * With a minimum distance of 1 the kept routes are exactly the k best
+ * distinct ones. With a larger distance, a new route may push out several
+ * kept routes at once, and the search keeps pruning against the k-th score
+ * it had reached, so the routes are a greedy, diverse choice among the best
+ * rather than a proven best diverse set, and there may be fewer than k.
+ */
+class TopRoutes {
+
+	/**
+	 * A kept route: the solution, its visited set as a bitmask of control ids,
+	 * its score and rank packed as the incumbent packs them, and the order it
+	 * was kept in, which breaks ties between routes of one rank.
+	 */
+	static class Route {
+
+		final TimeO.Solution solution;
+		final long[] visited;
+		final long packed;
+		final long sequence;
+
+		Route ( TimeO.Solution solution, long[] visited, long packed,
+		        long sequence ) {
+
+			this.solution = solution;
+			this.visited = visited;
+			this.packed = packed;
+			this.sequence = sequence;
+
+		}
+
+		// Is this route worse than another: a lower score, a later rank, or
+		// the same rank and kept after it?
+		boolean worse ( Route other ) {
+
+			return (packed != other.packed) ? packed < other.packed
+			    : sequence > other.sequence;
+
+		}
+	}
+
+	private final int k;
+	private final int minDistance;
+	private final PriorityQueue<Route> heap;
+	private long sequence;
+
+	// Incumbent of the current search, raised to the k-th best route
+	private Incumbent incumbent;
+
+	TopRoutes ( int k, int minDistance ) {
+
+		if ( k < 1 ) throw new IllegalArgumentException("k must be at least 1");
+		if ( minDistance < 1 )
+		  throw new IllegalArgumentException("Minimum distance must be at least 1");
+
+		this.k = k;
+		this.minDistance = minDistance;
+		this.heap = new PriorityQueue<>(k + 1,(a,b) -> a.worse(b) ? -1 : b.worse(a) ? 1 : 0);
+
+	}
+
+	// Clears the routes as a search with this incumbent begins
+	synchronized void begin ( Incumbent incumbent ) {
+
+		this.incumbent = incumbent;
+		heap.clear();
+
+	}
+
+	// Offers a route found at a rank, whose visited set must not change
+	// afterwards; returns true if it became the best kept route
+	synchronized boolean offer ( TimeO.Solution solution, long[] visited,
+	                             int rank ) {
+
+		long packed = Incumbent.pack(solution.totalScore,rank);
+
+		// A kept route too close to this one must be beaten to be replaced
+		List<Route> close = new ArrayList<>();
+		for ( Route route : heap ) {
+
+			if ( distance(route.visited,visited) < minDistance ) {
+
+				if ( route.packed >= packed ) return false;
+				close.add(route);
+
+			}
+		}
+		if ( close.isEmpty() && heap.size() == k && heap.peek().packed >= packed ) {
+
+			return false;
+
+		}
+
+		// Best kept route before this one
+		long best = Long.MIN_VALUE;
+		for ( Route route : heap ) {
+
+			best = Math.max(best,route.packed);
+
+		}
+
+		heap.removeAll(close);
+		heap.add(new Route(solution,visited,packed,sequence++));
+		if ( heap.size() > k ) heap.poll();
+		if ( heap.size() == k ) {
+
+			Route kth = heap.peek();
+			incumbent.offer(kth.solution.totalScore,rank(kth));
+
+		}
+
+		return packed > best;
+	}
+
+	// Returns the kept routes, best first
+	synchronized List<Route> routes () {
+
+		List<Route> sorted = new ArrayList<>(heap);
+		sorted.sort((a,b) -> b.worse(a) ? -1 : a.worse(b) ? 1 : 0);
+		return sorted;
+
+	}
+
+	// Returns the rank a route was found at
+	private static int rank ( Route route ) {
+
+		return ~(int) route.packed;
+
+	}
+
+	// Returns the number of controls visited by one of two routes but not the
+	// other
+	static int distance ( long[] a, long[] b ) {
+
+		int distance = 0;
+		for ( int i = 0 ; i < a.length ; i++ ) {
+
+			distance += Long.bitCount(a[i] ^ b[i]);
+
+		}
+		return distance;
+	}
+
+	// Returns the visited set of a solution's controls as a bitmask of ids
+	static long[] visited ( TimeO.Solution solution, int size ) {
+
+		long[] visited = new long[(size + Long.SIZE - 1) / Long.SIZE];
+		for ( TimeO.Visit visit : solution.visits ) {
+
+			if ( visit.id > 0 ) visited[visit.id >>> 6] |= 1L << visit.id;
+
+		}
+		return visited;
+	}
+}
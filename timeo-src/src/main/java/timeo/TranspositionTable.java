@@ -0,0 +1,138 @@
+package timeo;
+import java.util.Arrays;
+
+/**
+ * Bounded cache of search states already explored, keyed by visited set and
+ * current control. A state reached again no earlier and with no more points
+ * than a cached entry can only lead to routes that are no better, so the
+ * search cuts it. An entry only cuts nodes of the same or a later rank, so a
+ * parallel search still resolves ties as the sequential one does.
+ *
+ * Entries live in primitive arrays divided into buckets of WAYS slots. A key
+ * is only ever stored in its own bucket, and when a bucket is full its clock
+ * hand evicts the first entry that has not been used since the hand last
+ * passed it. Buckets are guarded by striped locks, so workers on several
+ * threads can share one table.
+ */
+class TranspositionTable {
+
+	// Slots per bucket and locks guarding the buckets
+	private static final int WAYS = 8;
+	private static final int STRIPES = 64;
+	// Bytes per slot: mask, time, control, score, rank and reference bit
+	private static final int SLOT_BYTES = 8 + 8 + 4 + 4 + 4 + 1;
+
+	private final long[] masks;
+	private final double[] times;
+	// Control of each slot, -1 if the slot is empty
+	private final int[] controls;
+	private final int[] scores;
+	private final int[] ranks;
+	private final boolean[] used;
+
+	// Clock hand of each bucket and the locks guarding them
+	private final int[] hands;
+	private final Object[] locks;
+	private final int bucketMask;
+
+	TranspositionTable ( int megabytes ) {
+
+		if ( megabytes < 1 )
+		  throw new IllegalArgumentException("Table needs at least 1 MB");
+
+		// Largest power of two buckets that fits in the memory cap
+		long slots = (long) megabytes * 1024 * 1024 / SLOT_BYTES;
+		int buckets = Integer.highestOneBit((int) Math.min(slots / WAYS,1 << 26));
+
+		int size = buckets * WAYS;
+		masks = new long[size];
+		times = new double[size];
+		controls = new int[size];
+		scores = new int[size];
+		ranks = new int[size];
+		used = new boolean[size];
+		hands = new int[buckets];
+		bucketMask = buckets - 1;
+
+		locks = new Object[STRIPES];
+		for ( int i = 0 ; i < STRIPES ; i++ ) {
+
+			locks[i] = new Object();
+
+		}
+		clear();
+
+	}
+
+	// Removes every entry
+	void clear () {
+
+		Arrays.fill(controls,-1);
+		Arrays.fill(used,false);
+
+	}
+
+	// Returns true if the state was explored before, no later and with at
+	// least the score, at the same or an earlier rank; otherwise records it
+	// as explored and returns false
+	boolean seen ( long mask, int control, double time, int score, int rank ) {
+
+		long h = (mask * 0x9E3779B97F4A7C15L) ^ (control * 0xC2B2AE3D27D4EB4FL);
+		int bucket = (int) (h ^ (h >>> 32)) & bucketMask;
+		int first = bucket * WAYS;
+
+		synchronized ( locks[bucket & (STRIPES - 1)] ) {
+
+			// Look for an entry that dominates the state, or that it dominates
+			int free = -1;
+			for ( int i = first ; i < first + WAYS ; i++ ) {
+
+				if ( controls[i] < 0 ) {
+
+					if ( free < 0 ) free = i;
+					continue;
+
+				}
+				if ( controls[i] != control || masks[i] != mask ) continue;
+
+				// Tick times are integral doubles, equal however a path summed them
+				if ( times[i] <= time && scores[i] >= score && ranks[i] <= rank ) {
+
+					used[i] = true;
+					return true;
+
+				}
+				if ( times[i] >= time && scores[i] <= score && ranks[i] >= rank ) {
+
+					free = i;
+
+				}
+			}
+
+			if ( free < 0 ) free = evict(bucket);
+
+			masks[free] = mask;
+			controls[free] = control;
+			times[free] = time;
+			scores[free] = score;
+			ranks[free] = rank;
+			used[free] = true;
+			return false;
+		}
+	}
+
+	// Advances the clock hand of a full bucket to the first slot not used
+	// since the last pass, clearing the use bits it passes
+	private int evict ( int bucket ) {
+
+		int first = bucket * WAYS;
+		while ( true ) {
+
+			int i = first + hands[bucket];
+			hands[bucket] = (hands[bucket] + 1) % WAYS;
+			if ( !used[i] ) return i;
+			used[i] = false;
+
+		}
+	}
+}
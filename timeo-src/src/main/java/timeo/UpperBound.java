@@ -0,0 +1,48 @@
+package timeo;
+
+/**
+ * An admissible estimate used to prune the search: no route that extends the
+ * current path with the next control may end with a higher total score than
+ * the bound. Implementations are shared by all workers of a search and must
+ * not allocate or keep per-node state.
+ */
+interface UpperBound {
+
+	/**
+	 * Bound the total score of any route that extends the path with a control.
+	 * 
+	 * @param path
+	 *          the worker whose path is being extended
+	 * @param nextId
+	 *          the control about to be added to the path
+	 * @param arrivalTime
+	 *          the time the path reaches nextId
+	 * @param visitTime
+	 *          the time nextId is visited, after waiting for it to open
+	 * @param score
+	 *          the raw score of the path including nextId
+	 * @return an upper bound on the total score of any such route
+	 */
+	public int bound ( BranchAndBound.Worker path, int nextId,
+	                   double arrivalTime, double visitTime, int score );
+
+	// Returns the bound with the given name (sum, reach or knapsack)
+	static UpperBound forName ( String name, Course course ) {
+
+		switch ( name ) {
+
+			case "sum":
+				return new SumBound(course);
+
+			case "reach":
+				return new ReachableBound(course,false);
+
+			case "knapsack":
+				return new ReachableBound(course,true);
+
+			default:
+				throw new IllegalArgumentException("Unknown bound " + name);
+
+		}
+	}
+}
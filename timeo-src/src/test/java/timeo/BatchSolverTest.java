@@ -0,0 +1,114 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static timeo.SampleCourse.BEST_SCORES;
+import static timeo.SampleCourse.PACES;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Every job of a batch must be solved as a single run at its pace would solve
+ * it, whether its times come from the shortest distances shared by the batch
+ * (minutes) or from shortest times of its own pace (ticks), and a job that
+ * fails must not stop the others.
+ */
+class BatchSolverTest {
+
+	@TempDir
+	Path dir;
+
+	// Writes a manifest of the sample course at each pace, twice over
+	private String manifest ( String... extra ) throws IOException {
+
+		String course = Paths.get(SampleCourse.COURSE).toAbsolutePath().toString();
+		List<String> lines = new ArrayList<>();
+		lines.add("# course pace");
+		for ( int round = 0 ; round < 2 ; round++ ) {
+
+			for ( double pace : PACES ) {
+
+				lines.add(course + " " + pace);
+
+			}
+		}
+		for ( String line : extra ) {
+
+			lines.add(line);
+
+		}
+
+		Path file = dir.resolve("jobs.txt");
+		Files.write(file,lines);
+		return file.toString();
+	}
+
+	// Solves every job of the manifest with options given as on the command
+	// line, checking each against a single run at its pace
+	private void solvesLikeSingleRuns ( String... args ) throws IOException {
+
+		SolverOptions options = SolverOptions.parse(args,0);
+		BatchSolver batch = new BatchSolver(SampleCourse.MAP,options);
+		List<BatchSolver.Job> jobs = BatchSolver.readManifest(manifest());
+		assertEquals(2 * PACES.length,jobs.size());
+
+		for ( BatchSolver.Job job : jobs ) {
+
+			int i = (job.number - 1) % PACES.length;
+			BatchSolver.Result result = batch.solve(job);
+			assertNull(result.error);
+			assertEquals(BEST_SCORES[i],result.solution.totalScore,"pace " + job.pace);
+
+			TimeO.Problem problem = SampleCourse.read(job.pace,options);
+			TimeO.Solution single = SampleCourse.solve(problem,options);
+			assertEquals(single.totalTime,result.solution.totalTime,1e-9,"pace " + job.pace);
+			assertEquals(SampleCourse.codes(single),SampleCourse.codes(result.solution));
+
+		}
+	}
+
+	@Test
+	void jobsInMinutesShareTheShortestDistances () throws IOException {
+
+		solvesLikeSingleRuns();
+
+	}
+
+	@Test
+	void jobsInTicksUseTheirOwnPace () throws IOException {
+
+		// The second round finds the times of each pace kept from the first
+		solvesLikeSingleRuns("--ticks","600");
+
+	}
+
+	@Test
+	void failedJobIsReportedInItsLine () throws IOException {
+
+		SolverOptions options = SolverOptions.parse(new String[] { "--format", "csv" },0);
+		BatchSolver batch = new BatchSolver(SampleCourse.MAP,options);
+		List<BatchSolver.Job> jobs = BatchSolver.readManifest(manifest("missing.course 0.01"));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		batch.run(jobs,new PrintStream(bytes,true,"UTF-8"));
+		String[] lines = bytes.toString(StandardCharsets.UTF_8.name()).split("\n");
+
+		assertEquals(jobs.size() + 1,lines.length);
+		for ( int i = 1 ; i < jobs.size() ; i++ ) {
+
+			assertTrue(lines[i].endsWith(","),lines[i]);
+
+		}
+		assertTrue(lines[jobs.size()].contains("Error reading files"),lines[jobs.size()]);
+
+	}
+}
@@ -0,0 +1,116 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import graphcomponents.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A binary file written from the sample map and course must read back as the
+ * same problem the text files give, with or without stored shortest times.
+ */
+class BinaryFormatTest {
+
+	private static final double PACE = 0.012;
+
+	@TempDir
+	Path dir;
+
+	// Converts the sample files as "TimeO convert" does, storing the shortest
+	// times at a pace if it is positive
+	private String convert ( String name, double pace ) throws IOException {
+
+		MapBuilder map = new MapBuilder("list");
+		Map<String,Vertex> codeToVertex = new HashMap<>();
+		List<TimeO.Control> controls = new ArrayList<>();
+		TimeO.readMapFile(SampleCourse.MAP,map,1.0,0);
+		TimeO.TimeLimit limit = TimeO.readCourseFile(SampleCourse.COURSE,controls,map);
+
+		String file = dir.resolve(name).toString();
+		BinaryFormat.write(file,map.build(codeToVertex),codeToVertex,controls,limit,pace);
+		return file;
+
+	}
+
+	// Asserts that two problems give the same course: controls, limit and
+	// the travel time between every pair of ids
+	private static void assertSameCourse ( TimeO.Problem expected,
+	                                       TimeO.Problem actual ) {
+
+		assertEquals(expected.controls.size(),actual.controls.size());
+		for ( int i = 0 ; i < expected.controls.size() ; i++ ) {
+
+			TimeO.Control a = expected.controls.get(i);
+			TimeO.Control b = actual.controls.get(i);
+			assertEquals(a.code,b.code);
+			assertEquals(a.points,b.points);
+			assertEquals(a.openTime,b.openTime,0.0);
+			assertEquals(a.closeTime,b.closeTime,0.0);
+
+		}
+		assertEquals(expected.limit.minutes,actual.limit.minutes,0.0);
+		assertEquals(expected.limit.penaltyPerMinute,actual.limit.penaltyPerMinute,0.0);
+
+		Course a = SampleCourse.compile(expected,0);
+		Course b = SampleCourse.compile(actual,0);
+		for ( int u = 0 ; u < a.view.size ; u++ ) {
+
+			for ( int v = 0 ; v < a.view.size ; v++ ) {
+
+				assertEquals(a.view.time(u,v),b.view.time(u,v),1e-9,u + " -> " + v);
+
+			}
+		}
+	}
+
+	@Test
+	void roundTripWithStoredTimes () throws IOException {
+
+		String file = convert("stored.timeo",PACE);
+		assertTrue(BinaryFormat.isBinary(file));
+
+		SolverOptions options = SolverOptions.parse(new String[0],0);
+		TimeO.Problem text = SampleCourse.read(PACE,options);
+		TimeO.Problem binary = BinaryFormat.read(file,PACE,0);
+		assertSameCourse(text,binary);
+
+		TimeO.Solution expected = SampleCourse.solve(text,options);
+		TimeO.Solution actual = SampleCourse.solve(binary,options);
+		assertEquals(expected.totalScore,actual.totalScore);
+		assertEquals(SampleCourse.codes(expected),SampleCourse.codes(actual));
+
+	}
+
+	@Test
+	void roundTripAtAnotherPace () throws IOException {
+
+		// Times stored for one pace are recomputed for another
+		String file = convert("other.timeo",0.03);
+		SolverOptions options = SolverOptions.parse(new String[0],0);
+		assertSameCourse(SampleCourse.read(PACE,options),BinaryFormat.read(file,PACE,0));
+
+	}
+
+	@Test
+	void roundTripWithoutStoredTimes () throws IOException {
+
+		String file = convert("legs.timeo",0.0);
+		SolverOptions options = SolverOptions.parse(new String[0],0);
+		assertSameCourse(SampleCourse.read(PACE,options),BinaryFormat.read(file,PACE,0));
+
+	}
+
+	@Test
+	void textFilesAreNotBinary () {
+
+		assertFalse(BinaryFormat.isBinary(SampleCourse.MAP));
+
+	}
+}
@@ -0,0 +1,94 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static timeo.SampleCourse.BEST_SCORES;
+import static timeo.SampleCourse.PACES;
+import java.io.IOException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Every exact engine must find the best score of the sample course at each
+ * pace, in minutes and in ticks: backtracking, the label DP solver, and a
+ * search seeded by the anytime heuristic. Every backtracking search breaks
+ * ties between routes the same way, so the parallel and top-k searches, a
+ * search without the table and a search of each graph type also agree on
+ * the route.
+ */
+class EngineAgreementTest {
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 2, 3 })
+	void searchesFindTheBestScore ( int i ) throws IOException {
+
+		double pace = PACES[i];
+		TimeO.Solution backtrack = SampleCourse.solve(pace,"--dp-threshold","0");
+		assertEquals(BEST_SCORES[i],backtrack.totalScore);
+
+		assertEquals(BEST_SCORES[i],
+		             SampleCourse.solve(pace,"--warm-start").totalScore,"warm start");
+
+	}
+
+	// Solves the sample course at a pace with the label DP solver alone
+	private static TimeO.Solution labels ( double pace, int ticksPerMinute )
+	    throws IOException {
+
+		SolverOptions options = SolverOptions.parse(new String[0],0);
+		options.ticksPerMinute = ticksPerMinute;
+		Course course = SampleCourse.compile(SampleCourse.read(pace,options),ticksPerMinute);
+		TimeO.Solution solution = new LabelSolver(course,options.maxLabels).solve();
+		assertNotNull(solution,"labels outgrew the cap");
+		return solution;
+
+	}
+
+	// At the fastest pace the labels outgrow the default cap
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 2 })
+	void labelSolverFindsTheBestScore ( int i ) throws IOException {
+
+		assertEquals(BEST_SCORES[i],labels(PACES[i],0).totalScore);
+		TimeO.Solution backtrack =
+		    SampleCourse.solve(PACES[i],"--ticks","600","--dp-threshold","0");
+		assertEquals(backtrack.totalScore,labels(PACES[i],600).totalScore,"ticks");
+
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 2, 3 })
+	void backtrackingSearchesAgreeOnTheRoute ( int i ) throws IOException {
+
+		double pace = PACES[i];
+		String route = SampleCourse.codes(SampleCourse.solve(pace,"--dp-threshold","0"));
+
+		assertEquals(route,SampleCourse.codes(SampleCourse.solve(pace,"--dp-threshold",
+		    "0","--threads","4","--split-depth","2")),"parallel");
+		assertEquals(route,SampleCourse.codes(SampleCourse.solve(pace,"--dp-threshold",
+		    "0","--top-k","3")),"top-k");
+		assertEquals(route,SampleCourse.codes(SampleCourse.solve(pace,"--dp-threshold",
+		    "0","--table-mb","0")),"without table");
+
+		for ( String graph : new String[] { "matrix", "csr" } ) {
+
+			assertEquals(route,SampleCourse.codes(SampleCourse.solve(pace,"--dp-threshold",
+			    "0","--graph",graph)),graph);
+
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 2, 3 })
+	void parallelSearchAgreesInTicks ( int i ) throws IOException {
+
+		double pace = PACES[i];
+		TimeO.Solution backtrack =
+		    SampleCourse.solve(pace,"--ticks","600","--dp-threshold","0");
+		TimeO.Solution parallel =
+		    SampleCourse.solve(pace,"--ticks","600","--dp-threshold","0","--threads","4");
+
+		assertEquals(SampleCourse.codes(backtrack),SampleCourse.codes(parallel),"parallel");
+		assertEquals(backtrack.totalTime,parallel.totalTime,0.0,"parallel");
+
+	}
+}
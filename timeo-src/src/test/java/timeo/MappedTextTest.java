@@ -0,0 +1,114 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tokens read from the mapped bytes must parse as Double.parseDouble parses
+ * them, blank lines and Windows line ends must be skipped, codes must be
+ * found in their table, and a malformed line must be named by its number.
+ */
+class MappedTextTest {
+
+	@TempDir
+	Path dir;
+
+	// Writes text to a file and maps it
+	private MappedText text ( String contents ) throws IOException {
+
+		Path file = dir.resolve("text.txt");
+		Files.write(file,contents.getBytes(StandardCharsets.UTF_8));
+		return new MappedText(file.toString());
+
+	}
+
+	@Test
+	void numbersParseAsTheJdkParsesThem () throws IOException {
+
+		String[] tokens = { "0", "481.0", "-3.25", "+7", "0.1", "123456.789",
+		                    "1e3", "2.5E-4", "12345678901234567890", "0.000000000000000000000001" };
+		MappedText text = text(String.join(" ",tokens) + "\n");
+		assertTrue(text.nextLine());
+		for ( String token : tokens ) {
+
+			assertEquals(Double.parseDouble(token),text.nextDouble(),0.0,token);
+
+		}
+		text.endLine();
+		assertFalse(text.nextLine());
+
+	}
+
+	@Test
+	void blankLinesAndLineEndsAreSkipped () throws IOException {
+
+		MappedText text = text("\r\n  \ncontrols 2\r\n\n\t\nstart 140 5 6\r\n");
+		assertTrue(text.nextLine());
+		assertEquals(3,text.lineNumber());
+		assertTrue(text.nextIs("controls"));
+		assertEquals(2,text.nextInt());
+		text.endLine();
+
+		assertTrue(text.nextLine());
+		assertEquals(6,text.lineNumber());
+		assertFalse(text.nextIs("star"));
+		assertEquals("start",text.nextWord());
+
+	}
+
+	@Test
+	void codesAreFoundInTheirTable () throws IOException {
+
+		MappedText.Codes codes = new MappedText.Codes();
+		StringBuilder line = new StringBuilder();
+		for ( int i = 0 ; i < 100 ; i++ ) {
+
+			assertTrue(codes.add("c" + i,i));
+			line.append("c").append(99 - i).append(' ');
+
+		}
+		assertFalse(codes.add("c7",200));
+
+		MappedText text = text(line + "c100 c\n");
+		assertTrue(text.nextLine());
+		for ( int i = 0 ; i < 100 ; i++ ) {
+
+			assertEquals(99 - i,text.nextCode(codes));
+
+		}
+		assertEquals(-1,text.nextCode(codes));
+		assertEquals(-1,text.nextCode(codes));
+
+	}
+
+	@Test
+	void malformedLinesNameTheirNumber () throws IOException {
+
+		MappedText text = text("start 136 48x1\n\nstart 128 1.5\nstart\n");
+		assertTrue(text.nextLine());
+		text.nextWord();
+		assertEquals(136,text.nextInt());
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,text::nextDouble);
+		assertTrue(e.getMessage().endsWith(":1: expected a number but found 48x1"),e.getMessage());
+
+		assertTrue(text.nextLine());
+		text.nextWord();
+		assertEquals(128,text.nextInt());
+		e = assertThrows(IllegalArgumentException.class,text::nextInt);
+		assertTrue(e.getMessage().endsWith(":3: expected an integer but found 1.5"),
+		           e.getMessage());
+
+		assertTrue(text.nextLine());
+		text.nextWord();
+		e = assertThrows(IllegalArgumentException.class,text::nextInt);
+		assertTrue(e.getMessage().endsWith(":4: line is too short"),e.getMessage());
+
+	}
+}
@@ -0,0 +1,199 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A re-plan must score what a solve from scratch of the amended course
+ * scores. A change that can only lower route scores keeps the last route
+ * without searching while the repaired route still scores as much; any other
+ * change searches. The repair drops controls that no longer score where the
+ * route visits them, then controls while the route ends late.
+ */
+class ReplanSessionTest {
+
+	private static final double PACE = 0.012;
+
+	private TimeO.Problem problem;
+	private SolverOptions options;
+	private ReplanSession session;
+	private TimeO.Solution first;
+	// Changes applied to the session so far
+	private final List<Consumer<ReplanSession>> changes = new ArrayList<>();
+
+	@BeforeEach
+	void solveOnce () throws IOException {
+
+		options = SolverOptions.parse(new String[0],0);
+		problem = SampleCourse.read(PACE,options);
+		session = new ReplanSession(problem,options);
+		first = session.solve();
+		assertFalse(session.keptRoute());
+
+	}
+
+	// Returns the codes of the controls the first route visits, or does not
+	private List<String> controls ( boolean visited ) {
+
+		List<String> codes = new ArrayList<>();
+		for ( TimeO.Control control : problem.controls ) {
+
+			boolean onRoute = false;
+			for ( TimeO.Visit visit : first.visits ) {
+
+				if ( visit.code.equals(control.code) ) onRoute = true;
+
+			}
+			if ( onRoute == visited && control.points > 0 ) codes.add(control.code);
+
+		}
+		return codes;
+	}
+
+	// Returns the control of the course with a code
+	private TimeO.Control control ( String code ) {
+
+		for ( TimeO.Control control : problem.controls ) {
+
+			if ( control.code.equals(code) ) return control;
+
+		}
+		throw new IllegalArgumentException(code);
+	}
+
+	// Returns the ids of the controls a route visits, without the return to
+	// the start
+	private static int[] ids ( TimeO.Solution solution ) {
+
+		int[] ids = new int[solution.visits.size() - 1];
+		for ( int i = 0 ; i < ids.length ; i++ ) {
+
+			ids[i] = solution.visits.get(i).id;
+
+		}
+		return ids;
+	}
+
+	// Applies a change to the session, re-plans, and checks the score against
+	// a new session that solves the course with every change so far from
+	// scratch
+	private TimeO.Solution replan ( Consumer<ReplanSession> change ) {
+
+		changes.add(change);
+		change.accept(session);
+		TimeO.Solution replanned = session.solve();
+
+		ReplanSession scratch = new ReplanSession(problem,options);
+		changes.forEach(c -> c.accept(scratch));
+		assertEquals(scratch.solve().totalScore,replanned.totalScore,"re-plan score");
+		return replanned;
+
+	}
+
+	@Test
+	void tighteningOffTheRouteKeepsIt () {
+
+		// Close, lower the points of and narrow the window of controls the
+		// route does not visit, then shorten the limit to the route's time
+		List<String> off = controls(false);
+		assertTrue(off.size() >= 3);
+
+		TimeO.Solution kept = replan(s -> s.close(off.get(0)));
+		assertTrue(session.keptRoute(),"close");
+		assertEquals(first.totalScore,kept.totalScore);
+
+		String lower = off.get(1);
+		replan(s -> s.points(lower,control(lower).points - 1));
+		assertTrue(session.keptRoute(),"points down");
+
+		TimeO.Control narrow = control(off.get(2));
+		replan(s -> s.window(narrow.code,narrow.openTime,
+		                     (narrow.openTime + narrow.closeTime) / 2));
+		assertTrue(session.keptRoute(),"narrower window");
+
+		double minutes = Math.ceil(first.totalTime);
+		assertTrue(minutes < problem.limit.minutes);
+		replan(s -> s.timeLimit(minutes,problem.limit.penaltyPerMinute));
+		assertTrue(session.keptRoute(),"shorter limit");
+		assertEquals(0,session.nodesExpanded());
+
+	}
+
+	@Test
+	void tighteningOnTheRouteSearches () {
+
+		String on = controls(true).get(0);
+		replan(s -> s.close(on));
+		assertFalse(session.keptRoute());
+		assertTrue(session.nodesExpanded() > 0);
+
+	}
+
+	@Test
+	void looseningSearches () {
+
+		TimeO.Control off = control(controls(false).get(0));
+		replan(s -> s.points(off.code,off.points + 1));
+		assertFalse(session.keptRoute(),"points up");
+
+		replan(s -> s.window(off.code,off.openTime,off.closeTime + 1));
+		assertFalse(session.keptRoute(),"wider window");
+
+		replan(s -> s.timeLimit(problem.limit.minutes + 1,problem.limit.penaltyPerMinute));
+		assertFalse(session.keptRoute(),"longer limit");
+		assertTrue(session.nodesExpanded() > 0);
+
+	}
+
+	@Test
+	void repairDropsControlsThatNoLongerScore () {
+
+		// Close the window of the second control before the route reaches it
+		TimeO.Visit second = first.visits.get(1);
+		TimeO.Control control = control(second.code);
+		session.window(second.code,0.0,Math.min(control.openTime,second.time - 1));
+		session.solve();
+
+		TimeO.Solution repaired = session.repair(first);
+		assertEquals(first.visits.size() - 1,repaired.visits.size());
+		for ( TimeO.Visit visit : repaired.visits ) {
+
+			assertFalse(visit.code.equals(second.code));
+
+		}
+		assertEquals(first.totalScore - second.points,repaired.totalScore);
+
+	}
+
+	@Test
+	void repairDropsControlsWhileTheRouteIsLate () {
+
+		// A limit well before the route ends, with a steep penalty
+		session.timeLimit(first.totalTime / 2,10);
+		session.solve();
+
+		TimeO.Solution repaired = session.repair(first);
+		assertTrue(repaired.visits.size() < first.visits.size());
+		assertTrue(repaired.totalScore > session.course().route(ids(first),
+		                                                       first.visits.size() - 1).totalScore);
+		if ( repaired.penalty == 0 ) return;
+
+		// A route still late is one no single drop improves
+		int[] ids = ids(repaired);
+		for ( int i = 0 ; i < ids.length ; i++ ) {
+
+			int[] shorter = new int[ids.length - 1];
+			System.arraycopy(ids,0,shorter,0,i);
+			System.arraycopy(ids,i + 1,shorter,i,ids.length - i - 1);
+			assertTrue(session.course().route(shorter,shorter.length).totalScore
+			           <= repaired.totalScore);
+
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A route file must read back as the route that was saved, with its times
+ * and points recomputed for the course, and a route that names controls the
+ * course cannot use must be refused.
+ */
+class RouteFileTest {
+
+	private static final double PACE = 0.012;
+
+	@TempDir
+	Path dir;
+
+	private Course course;
+
+	@BeforeEach
+	void compileCourse () throws IOException {
+
+		SolverOptions options = SolverOptions.parse(new String[0],0);
+		course = SampleCourse.compile(SampleCourse.read(PACE,options),0);
+
+	}
+
+	// Writes lines to a route file and returns its name
+	private String routeFile ( String... lines ) throws IOException {
+
+		Path file = Files.createTempFile(dir,"route",".txt");
+		Files.write(file,Arrays.asList(lines));
+		return file.toString();
+
+	}
+
+	@Test
+	void savedRouteReadsBack () throws IOException {
+
+		TimeO.Solution best = SampleCourse.solve(PACE);
+		String file = dir.resolve("best.route").toString();
+		RouteFile.write(file,best);
+
+		TimeO.Solution read = RouteFile.read(file,course);
+		assertEquals(best.totalScore,read.totalScore);
+		assertEquals(best.totalTime,read.totalTime,1e-9);
+		assertEquals(SampleCourse.codes(best),SampleCourse.codes(read));
+
+	}
+
+	@Test
+	void blankLinesAndCommentsAreSkipped () throws IOException {
+
+		TimeO.Solution read = RouteFile.read(routeFile("# saved route","","125","  140  "),
+		                                     course);
+		assertEquals("125 140",SampleCourse.codes(read));
+
+	}
+
+	@Test
+	void unknownControlIsRefused () throws IOException {
+
+		String file = routeFile("125","nowhere");
+		IllegalArgumentException e =
+		    assertThrows(IllegalArgumentException.class,() -> RouteFile.read(file,course));
+		assertTrue(e.getMessage().endsWith(":2: control nowhere is not on the course"),
+		           e.getMessage());
+
+	}
+
+	@Test
+	void repeatedControlIsRefused () throws IOException {
+
+		String file = routeFile("125","140","125");
+		IllegalArgumentException e =
+		    assertThrows(IllegalArgumentException.class,() -> RouteFile.read(file,course));
+		assertTrue(e.getMessage().endsWith(":3: control 125 is visited twice"),e.getMessage());
+
+	}
+
+	@Test
+	void startIsNotAControl () throws IOException {
+
+		String file = routeFile("start");
+		assertThrows(IllegalArgumentException.class,() -> RouteFile.read(file,course));
+
+	}
+}
@@ -0,0 +1,65 @@
+package timeo;
+import java.io.IOException;
+
+/**
+ * The sample map and course in data/, and helpers to compile and solve them
+ * the way the command line does. Test paths are relative to the module.
+ */
+class SampleCourse {
+
+	static final String MAP = "../data/westpoint14-timeo.map";
+	static final String COURSE = "../data/westpoint14-timeo.course";
+
+	// Paces with their best scores, as the command line prints them
+	static final double[] PACES = { 0.03, 0.025, 0.012, 0.008 };
+	static final int[] BEST_SCORES = { 4, 6, 12, 16 };
+
+	// Reads the sample course at a pace with the given options
+	static TimeO.Problem read ( double pace, SolverOptions options )
+	    throws IOException {
+
+		return TimeO.readTextFiles(MAP,COURSE,pace,options.ticksPerMinute,options.graph);
+
+	}
+
+	// Compiles a problem into the course the solvers see
+	static Course compile ( TimeO.Problem problem, int ticksPerMinute ) {
+
+		SolverView view = SolverView.compile(problem.paths,problem.codeToVertex,
+		                                     problem.controls,ticksPerMinute);
+		return new Course(view,problem.controls,problem.limit.minutes,
+		                  problem.limit.penaltyPerMinute);
+
+	}
+
+	// Solves a problem with the given options, from scratch
+	static TimeO.Solution solve ( TimeO.Problem problem, SolverOptions options ) {
+
+		Course course = compile(problem,options.ticksPerMinute);
+		return TimeO.findBestPath(TimeO.newSearch(course,options),options,
+		                          new TimeO.Solution());
+
+	}
+
+	// Solves the sample course at a pace with options given as on the
+	// command line
+	static TimeO.Solution solve ( double pace, String... args ) throws IOException {
+
+		SolverOptions options = SolverOptions.parse(args,0);
+		return solve(read(pace,options),options);
+
+	}
+
+	// Returns the control codes of a solution in visit order, without the
+	// start
+	static String codes ( TimeO.Solution solution ) {
+
+		StringBuilder codes = new StringBuilder();
+		for ( TimeO.Visit visit : solution.visits ) {
+
+			if ( visit.id > 0 ) codes.append(codes.length() > 0 ? " " : "").append(visit.code);
+
+		}
+		return codes.toString();
+	}
+}
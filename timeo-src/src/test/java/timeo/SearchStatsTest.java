@@ -0,0 +1,62 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * A parallel search must count every node and prune it does, including those
+ * of the planner above the split depth. When the incumbent can never change,
+ * the nodes searched do not depend on the order they are searched in, so the
+ * parallel counts must equal the sequential ones.
+ */
+class SearchStatsTest {
+
+	// Counters of a search as JSON, without its timings
+	private static String counts ( BranchAndBound search ) {
+
+		return search.stats().toJson().replaceAll("\"\\w*[Mm]illis\":[^,}]*,?","");
+
+	}
+
+	// Searches the sample course at a pace against an incumbent no route can
+	// beat, on one thread or split at a depth across four
+	private static String search ( double pace, int splitDepth ) throws IOException {
+
+		SolverOptions options = SolverOptions.parse(new String[] { "--stats", "--table-mb", "0" },0);
+		Course course = SampleCourse.compile(SampleCourse.read(pace,options),0);
+		BranchAndBound search = TimeO.newSearch(course,options);
+
+		TimeO.Solution unbeatable = new TimeO.Solution();
+		unbeatable.totalScore = 1 + SampleCourse.solve(pace,"--dp-threshold","0").totalScore;
+		if ( splitDepth == 0 ) {
+
+			search.solve(unbeatable);
+
+		} else {
+
+			ForkJoinPool pool = new ForkJoinPool(4);
+			try {
+
+				new ParallelSolver(search,pool,splitDepth).solve(unbeatable);
+
+			} finally {
+
+				pool.shutdown();
+
+			}
+		}
+
+		return counts(search);
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "0.012, 1", "0.012, 2", "0.012, 3", "0.008, 2", "1.0, 2" })
+	void parallelSearchCountsAsSequential ( double pace, int splitDepth )
+	    throws IOException {
+
+		assertEquals(search(pace,0),search(pace,splitDepth));
+
+	}
+}
@@ -0,0 +1,115 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import graphcomponents.*;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The shortest times from a source must be those of an all-pairs search over
+ * the same legs, with a route whose legs add up to them, and a map too large
+ * for a dense matrix must still be planned over.
+ */
+class ShortestPathsTest {
+
+	// Builds a random map of n vertices with some legs, weighted by distance
+	private static WeightedGraph randomMap ( int n, int legs, long seed ) {
+
+		Random random = new Random(seed);
+		CsrGraph.Builder builder = new CsrGraph.Builder();
+		for ( int i = 0 ; i < n ; i++ ) {
+
+			builder.addVertex("v" + i);
+
+		}
+		for ( int i = 0 ; i < legs ; i++ ) {
+
+			int u = random.nextInt(n);
+			int v = random.nextInt(n);
+			if ( u != v ) builder.addEdge(u,v,1 + random.nextInt(100));
+
+		}
+
+		return builder.build();
+	}
+
+	@Test
+	void timesMatchAnAllPairsSearch () {
+
+		int n = 60;
+		WeightedGraph graph = randomMap(n,300,7);
+		double pace = 0.25;
+		ShortestPaths paths = ShortestPaths.compute(graph,pace,0);
+
+		// Floyd-Warshall over the same legs
+		double[][] dist = new double[n][n];
+		for ( int u = 0 ; u < n ; u++ ) {
+
+			for ( int v = 0 ; v < n ; v++ ) {
+
+				dist[u][v] = (u == v) ? 0.0 : paths.legTime(u,v);
+
+			}
+		}
+		for ( int k = 0 ; k < n ; k++ ) {
+
+			for ( int u = 0 ; u < n ; u++ ) {
+
+				for ( int v = 0 ; v < n ; v++ ) {
+
+					dist[u][v] = Math.min(dist[u][v],dist[u][k] + dist[k][v]);
+
+				}
+			}
+		}
+
+		for ( int u = 0 ; u < n ; u++ ) {
+
+			for ( int v = 0 ; v < n ; v++ ) {
+
+				assertEquals(dist[u][v],paths.time(u,v),1e-9,u + " -> " + v);
+				if ( u == v || paths.time(u,v) == Double.POSITIVE_INFINITY ) continue;
+
+				// The expanded route adds up to the shortest time
+				double time = 0.0;
+				int from = u;
+				List<Integer> between = paths.between(u,v);
+				for ( int w : between ) {
+
+					time += paths.legTime(from,w);
+					from = w;
+
+				}
+				time += paths.legTime(from,v);
+				assertEquals(paths.time(u,v),time,1e-9,u + " -> " + v);
+
+			}
+		}
+	}
+
+	@Test
+	void largeSparseMapIsPlannedOver () {
+
+		// A ring of more vertices than a dense int-indexed matrix could hold
+		int n = 50_000;
+		CsrGraph.Builder builder = new CsrGraph.Builder();
+		for ( int i = 0 ; i < n ; i++ ) {
+
+			builder.addVertex("v" + i);
+
+		}
+		for ( int i = 0 ; i < n ; i++ ) {
+
+			builder.addEdge(i,(i + 1) % n,2.0);
+
+		}
+
+		ShortestPaths paths = ShortestPaths.compute(builder.build(),0.5,0);
+		assertEquals(n - 1,paths.time(1,0),0.0);
+		assertEquals(1.0,paths.time(0,1),0.0);
+		assertEquals(n - 2,paths.between(1,0).size());
+		assertTrue(paths.between(0,1).isEmpty());
+
+	}
+}
@@ -0,0 +1,39 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static timeo.SampleCourse.PACES;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * The routes a top-k search keeps must be distinct, and the solution it
+ * returns must be the best kept route, never one the kept routes turned away.
+ */
+class TopRoutesTest {
+
+	@ParameterizedTest
+	@CsvSource({ "0, 3, 1", "1, 3, 2", "2, 4, 3", "3, 5, 4" })
+	void searchReturnsTheBestKeptRoute ( int i, int k, int minDistance )
+	    throws IOException {
+
+		SolverOptions options = SolverOptions.parse(new String[] {
+		    "--top-k", String.valueOf(k), "--min-distance", String.valueOf(minDistance) },0);
+		Course course = SampleCourse.compile(SampleCourse.read(PACES[i],options),0);
+		BranchAndBound search = TimeO.newSearch(course,options);
+		TimeO.Solution best = search.solve();
+
+		List<TopRoutes.Route> routes = search.topRoutes().routes();
+		assertSame(routes.get(0).solution,best);
+		for ( int a = 0 ; a < routes.size() ; a++ ) {
+
+			for ( int b = a + 1 ; b < routes.size() ; b++ ) {
+
+				assertTrue(TopRoutes.distance(routes.get(a).visited,routes.get(b).visited)
+				           >= minDistance);
+
+			}
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package timeo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A state is cut only when an entry with the same visited set and control
+ * dominates it: reached no later, with at least its score, at the same or an
+ * earlier rank.
+ */
+class TranspositionTableTest {
+
+	private static final long MASK = 0b1011L;
+	private static final int CONTROL = 3;
+
+	private TranspositionTable table;
+
+	@BeforeEach
+	void recordState () {
+
+		table = new TranspositionTable(1);
+		assertFalse(table.seen(MASK,CONTROL,10.0,5,4));
+
+	}
+
+	@Test
+	void sameStateIsCut () {
+
+		assertTrue(table.seen(MASK,CONTROL,10.0,5,4));
+
+	}
+
+	@Test
+	void laterOrPoorerStateIsCut () {
+
+		assertTrue(table.seen(MASK,CONTROL,12.0,5,4));
+		assertTrue(table.seen(MASK,CONTROL,10.0,3,4));
+		assertTrue(table.seen(MASK,CONTROL,10.0,5,9));
+
+	}
+
+	@Test
+	void earlierOrRicherStateIsKept () {
+
+		assertFalse(table.seen(MASK,CONTROL,9.0,5,4));
+		assertFalse(table.seen(MASK,CONTROL,10.0,6,4));
+
+	}
+
+	@Test
+	void stateOfAnEarlierRankIsKept () {
+
+		// Cutting it would let a parallel search break ties differently
+		assertFalse(table.seen(MASK,CONTROL,10.0,5,2));
+
+	}
+
+	@Test
+	void otherSetOrControlIsKept () {
+
+		assertFalse(table.seen(MASK | 0b100L,CONTROL,10.0,5,4));
+		assertFalse(table.seen(MASK,CONTROL + 1,10.0,5,4));
+
+	}
+
+	@Test
+	void dominatingStateReplacesTheEntry () {
+
+		assertFalse(table.seen(MASK,CONTROL,8.0,7,4));
+		assertTrue(table.seen(MASK,CONTROL,9.0,6,4));
+
+	}
+
+	@Test
+	void clearForgetsEveryState () {
+
+		table.clear();
+		assertFalse(table.seen(MASK,CONTROL,10.0,5,4));
+
+	}
+}